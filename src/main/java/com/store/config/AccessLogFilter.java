@@ -0,0 +1,112 @@
+package com.store.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.DisconnectedClientHelper;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands each request to the {@link AccessLogger} once it is complete. Added to the security
+ * filter chain right after the filter that holds the security context, so it sees the
+ * authenticated user as well as the 401/403 responses. Async requests (SSE, streamed exports,
+ * reactive reads) are logged when the async request completes, with their full duration. One that
+ * times out or fails is logged with reason timeout, error or client_abort, and as 503/500 only
+ * when no response had been committed yet.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogger accessLogger;
+
+    public AccessLogFilter(AccessLogger accessLogger) {
+        this.accessLogger = accessLogger;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            String user = currentUser();
+            String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
+            if (!failed && request.isAsyncStarted()) {
+                // The container may report a timeout or error and then complete: log whichever comes first
+                AtomicBoolean logged = new AtomicBoolean();
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        if (logged.compareAndSet(false, true)) {
+                            log(request, response.getStatus(), started, user, requestId);
+                        }
+                    }
+
+                    // A stream that already sent its 200 (SSE, exports) keeps that status
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        if (logged.compareAndSet(false, true)) {
+                            logFailure(request, statusOr(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE),
+                                started, user, requestId, "timeout");
+                        }
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        if (logged.compareAndSet(false, true)) {
+                            String reason = event.getThrowable() != null
+                                && DisconnectedClientHelper.isClientDisconnectedException(event.getThrowable())
+                                ? "client_abort"
+                                : "error";
+                            logFailure(request, statusOr(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR),
+                                started, user, requestId, reason);
+                        }
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);   // Stay registered if async is restarted
+                    }
+                });
+            } else {
+                // An exception escaping the chain becomes a 500 after this filter has returned
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    started, user, requestId);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long started, String user, String requestId) {
+        accessLogger.log(request.getMethod(), request.getRequestURI(), status, System.nanoTime() - started,
+            user, requestId);
+    }
+
+    private void logFailure(HttpServletRequest request, int status, long started, String user, String requestId,
+                            String reason) {
+        accessLogger.log(request.getMethod(), request.getRequestURI(), status, System.nanoTime() - started,
+            user, requestId, reason);
+    }
+
+    private static int statusOr(HttpServletResponse response, int uncommittedStatus) {
+        return response.isCommitted() ? response.getStatus() : uncommittedStatus;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+            ? authentication.getName()
+            : null;
+    }
+}
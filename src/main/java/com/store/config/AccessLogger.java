@@ -0,0 +1,113 @@
+package com.store.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one logfmt line per request to the {@code com.store.access} logger, which
+ * logback-spring.xml routes through its own non-blocking async appender. Errors (status 400 and
+ * up) and requests slower than {@code store.access-log.slow-threshold} are always written; the
+ * rest only at {@code store.access-log.sample-rate}. The {@code reason} field says which applied.
+ */
+@Component
+public class AccessLogger {
+
+    static final String LOGGER_NAME = "com.store.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogger(@Value("${store.access-log.enabled:true}") boolean enabled,
+                        @Value("${store.access-log.sample-rate:0.1}") double sampleRate,
+                        @Value("${store.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("store.access-log.sample-rate must be between 0 and 1, got " + sampleRate);
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public void log(String method, String path, int status, long durationNanos, String user, String requestId) {
+        if (!enabled || !accessLog.isInfoEnabled()) {
+            return;
+        }
+        String reason = reason(status, durationNanos);
+        if (reason != null) {
+            accessLog.info(format(method, path, status, durationNanos, user, requestId, reason));
+        }
+    }
+
+    // Logs regardless of sampling, e.g. for an async request that timed out or failed
+    public void log(String method, String path, int status, long durationNanos, String user, String requestId,
+                    String reason) {
+        if (enabled && accessLog.isInfoEnabled()) {
+            accessLog.info(format(method, path, status, durationNanos, user, requestId, reason));
+        }
+    }
+
+    // Why the request is logged, or null when it is sampled out
+    String reason(int status, long durationNanos) {
+        if (status >= 400) {
+            return "error";
+        }
+        if (durationNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        if (sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return "sampled";
+        }
+        return null;
+    }
+
+    static String format(String method, String path, int status, long durationNanos, String user,
+                         String requestId, String reason) {
+        StringBuilder line = new StringBuilder(160);
+        field(line, "method", method);
+        field(line, "path", path);
+        line.append(" status=").append(status);
+        line.append(" duration_us=").append(durationNanos / 1_000);
+        field(line, "user", user);
+        field(line, "request_id", requestId);
+        field(line, "reason", reason);
+        return line.toString();
+    }
+
+    // Values with spaces, quotes or '=' are quoted; missing values are written as "-"
+    private static void field(StringBuilder line, String key, String value) {
+        if (!line.isEmpty()) {
+            line.append(' ');
+        }
+        line.append(key).append('=');
+        if (value == null || value.isEmpty()) {
+            line.append('-');
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=' || c == '\\';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c < ' ' ? ' ' : c);
+        }
+        line.append('"');
+    }
+}
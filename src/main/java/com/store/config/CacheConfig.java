@@ -1,27 +1,138 @@
 package com.store.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.store.dto.ProductJson;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
-@EnableCaching
+// Run the cache interceptor outside the transaction interceptor, so cache hits never open a transaction
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
     public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_JSON_CACHE = "productJson";
+
+    // Rough retained size of a cache entry beyond the variable-length fields: Caffeine node,
+    // boxed key and the Product object graph (Integer, BigDecimal, two Instants)
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS_CACHE);
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(100)                 // Maximum number of entries in cache
-                .expireAfterWrite(1, TimeUnit.HOURS)  // Entries expire after 1 hour
-                .recordStats());                  // Enable statistics
+    public CacheManager cacheManager(CacheProperties properties,
+                                     ObjectProvider<ProductRepository> productRepository) {
+        Executor cacheRefreshExecutor = refreshExecutor();
+        // Caches that can reload themselves; required for refresh-after-write
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(
+                PRODUCTS_CACHE, id -> productRepository.getObject().findById((Long) id)
+                        .filter(product -> !product.isDeleted())
+                        .orElse(null));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new PeekingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(builder(properties.defaults(), cacheRefreshExecutor));
+        for (String name : properties.specs().keySet()) {
+            CacheProperties.Spec spec = properties.specFor(name);
+            Caffeine<Object, Object> builder = builder(spec, cacheRefreshExecutor);
+            CacheLoader<Object, Object> loader = loaders.get(name);
+            if (spec.refreshAfterWrite() != null && loader == null) {
+                throw new IllegalStateException("Cache '" + name + "' has refresh-after-write but no loader");
+            }
+            logger.info("Configuring cache '{}': {}", name, spec);
+            cacheManager.registerCustomCache(name, loader != null ? builder.build(loader) : builder.build());
+        }
+        // Any other cache name is created on demand with the default spec
         return cacheManager;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Spring's CaffeineCache runs the loader of a LoadingCache on every lookup miss, which turns
+     * each Cache.get and @Cacheable miss into a blocking database load that the caller then repeats
+     * (twice for a missing id). The loader is only meant for refresh-after-write, so lookups here
+     * just peek; a read of a present entry still triggers the background refresh.
+     */
+    static final class PeekingCaffeineCache extends CaffeineCache {
+
+        PeekingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            return getNativeCache().getIfPresent(key);
+        }
+    }
+
+    /**
+     * Small pool for background reloads and cache maintenance, kept off the common pool so slow
+     * database reloads cannot starve other work. Deliberately not a bean: an Executor bean would
+     * replace Spring Boot's applicationTaskExecutor. Idle threads time out, so nothing leaks when
+     * the context closes.
+     */
+    private static Executor refreshExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Caffeine<Object, Object> builder(CacheProperties.Spec spec, Executor refreshExecutor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .executor(refreshExecutor)
+                .recordStats();                   // Exposed through GET /api/admin/caches
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight().toBytes())
+                    .weigher(CacheConfig::estimateEntryBytes);
+        } else if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.refreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.refreshAfterWrite());
+        }
+        return builder;
+    }
+
+    static int estimateEntryBytes(Object key, Object value) {
+        if (value instanceof Product product) {
+            return ENTRY_OVERHEAD_BYTES + product.getName().length() * 2;
+        }
+        if (value instanceof ProductJson json) {
+            return ENTRY_OVERHEAD_BYTES / 2 + json.body().length;
+        }
+        return ENTRY_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,35 @@
+package com.store.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-cache Caffeine policies, bound from {@code store.cache.specs.<cache-name>.*}.
+ * Caches without an entry fall back to {@link #defaults()}.
+ */
+@ConfigurationProperties(prefix = "store.cache")
+public record CacheProperties(Spec defaults, Map<String, Spec> specs) {
+
+    public CacheProperties {
+        defaults = defaults != null ? defaults : new Spec(100L, null, Duration.ofHours(1), null);
+        specs = specs != null ? Map.copyOf(specs) : Map.of();
+    }
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    /**
+     * @param maximumSize       entry-count bound; ignored when maximumWeight is set
+     * @param maximumWeight     bound on the approximate retained size of all entries
+     * @param expireAfterWrite  hard age limit of an entry
+     * @param refreshAfterWrite age after which a read triggers an asynchronous reload; the stale
+     *                          value keeps being served until the reload completes
+     */
+    public record Spec(Long maximumSize, DataSize maximumWeight, Duration expireAfterWrite,
+                       Duration refreshAfterWrite) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.store.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DaoAuthenticationProvider that remembers recently verified credentials, so repeated
+ * HTTP Basic requests skip the BCrypt check.
+ *
+ * Entries are keyed by an HMAC (per-instance random key) over the username, the presented
+ * password, the stored password hash and the granted authorities. Plaintext passwords are
+ * never stored, and any change to a user's password or roles produces a different key,
+ * so stale entries simply stop matching and age out.
+ */
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, String> verifiedCredentials;
+    private final SecretKeySpec hmacKey;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingDaoAuthenticationProvider(PasswordEncoder passwordEncoder, long maximumSize, Duration ttl) {
+        super(passwordEncoder);
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.hmacKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+
+        String key = credentialKey(userDetails, authentication.getCredentials().toString());
+        if (verifiedCredentials.getIfPresent(key) != null) {
+            hits.increment();
+            return;
+        }
+
+        misses.increment();
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        verifiedCredentials.put(key, userDetails.getUsername());
+    }
+
+    /**
+     * Drops every cached credential of the given user, e.g. right after an explicit password reset.
+     */
+    public void invalidate(String username) {
+        verifiedCredentials.asMap().values().removeIf(username::equals);
+    }
+
+    public void invalidateAll() {
+        verifiedCredentials.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getCachedCredentialCount() {
+        return verifiedCredentials.estimatedSize();
+    }
+
+    private String credentialKey(UserDetails userDetails, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            update(mac, userDetails.getUsername());
+            update(mac, presentedPassword);
+            update(mac, userDetails.getPassword());
+            for (GrantedAuthority authority : userDetails.getAuthorities()) {
+                update(mac, authority.getAuthority());
+            }
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute credential cache key", e);
+        }
+    }
+
+    private static void update(Mac mac, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        // Length-prefix each field so that ("ab", "c") and ("a", "bc") never collide
+        mac.update((byte) (bytes.length >>> 24));
+        mac.update((byte) (bytes.length >>> 16));
+        mac.update((byte) (bytes.length >>> 8));
+        mac.update((byte) bytes.length);
+        mac.update(bytes);
+    }
+}
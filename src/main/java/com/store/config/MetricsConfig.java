@@ -0,0 +1,80 @@
+package com.store.config;
+
+import com.store.service.ProductArchiver;
+import com.store.service.ProductChangeFeed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of what Spring Boot instruments by itself (HTTP server requests,
+ * HikariCP, cache statistics and Hibernate statistics).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on Spring beans, e.g. ProductService
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryCounterCustomizer() {
+        RequestQueryCounter counter = new RequestQueryCounter();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+            properties.put(AvailableSettings.INTERCEPTOR, counter);
+        };
+    }
+
+    @Bean
+    public MeterBinder credentialCacheMetrics(CachingDaoAuthenticationProvider authenticationProvider) {
+        return registry -> {
+            FunctionCounter.builder("store.security.credential.cache.gets", authenticationProvider,
+                    CachingDaoAuthenticationProvider::getHitCount)
+                .tag("result", "hit")
+                .description("Authentications answered from the verified-credential cache")
+                .register(registry);
+            FunctionCounter.builder("store.security.credential.cache.gets", authenticationProvider,
+                    CachingDaoAuthenticationProvider::getMissCount)
+                .tag("result", "miss")
+                .description("Authentications that ran the password check")
+                .register(registry);
+            Gauge.builder("store.security.credential.cache.size", authenticationProvider,
+                    CachingDaoAuthenticationProvider::getCachedCredentialCount)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder changeFeedMetrics(ProductChangeFeed productChangeFeed) {
+        return registry -> {
+            Gauge.builder("store.change.feed.subscribers", productChangeFeed, ProductChangeFeed::getSubscriberCount)
+                .description("Connected GET /api/products/stream clients")
+                .register(registry);
+            FunctionCounter.builder("store.change.feed.overflows", productChangeFeed,
+                    ProductChangeFeed::getOverflowDisconnects)
+                .description("Subscribers disconnected because their buffer overflowed")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder archiveMetrics(ProductArchiver productArchiver) {
+        return registry -> {
+            FunctionCounter.builder("store.archive.rows.moved", productArchiver, ProductArchiver::getRowsMoved)
+                .description("Soft-deleted products moved to products_archive")
+                .register(registry);
+            FunctionCounter.builder("store.archive.runs", productArchiver, ProductArchiver::getRuns)
+                .description("Completed archiving runs")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.store.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Where the reactive read API runs its blocking JDBC calls. Threads are capped at roughly the
+     * connection pool size, because more could only wait on the pool; work beyond the queue cap is
+     * rejected (503) rather than piling up. Reads served from memory never reach this scheduler.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler productReadScheduler(
+            @Value("${store.reactive.jdbc-threads:10}") int threads,
+            @Value("${store.reactive.max-queued-reads:10000}") int maxQueuedReads) {
+        return Schedulers.newBoundedElastic(threads, maxQueuedReads, "product-read", 60, true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.store.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements and entity loads Hibernate performs on the current thread.
+ * Registered with the session factory as statement inspector and interceptor; the counting
+ * window of each request is opened and closed by {@link RequestQueryMetricsFilter}. Outside
+ * a window the callbacks do nothing.
+ */
+public class RequestQueryCounter implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    public record Counts(long statements, long entityLoads) {
+    }
+
+    public static void start() {
+        CURRENT.set(new long[2]);
+    }
+
+    public static Counts stop() {
+        long[] counts = CURRENT.get();
+        CURRENT.remove();
+        return counts == null ? new Counts(0, 0) : new Counts(counts[0], counts[1]);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] counts = CURRENT.get();
+        if (counts != null) {
+            counts[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        long[] counts = CURRENT.get();
+        if (counts != null) {
+            counts[1]++;
+        }
+        return false;
+    }
+}
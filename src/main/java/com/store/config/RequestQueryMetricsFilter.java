@@ -0,0 +1,66 @@
+package com.store.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, per endpoint, as
+ * {@code hibernate.request.statements} and {@code hibernate.request.entity.loads}.
+ */
+@Component
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestQueryMetricsFilter.class);
+    private static final double[] BUCKETS = {1, 2, 5, 10, 25, 100};
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.Counts counts = RequestQueryCounter.stop();
+            // Tag by route template, never by raw path, to keep the number of series bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            summary("hibernate.request.statements", "SQL statements executed per request", request.getMethod(), uri)
+                .record(counts.statements());
+            summary("hibernate.request.entity.loads", "Entities loaded per request", request.getMethod(), uri)
+                .record(counts.entityLoads());
+            logger.debug("{} {} executed {} statements, loaded {} entities",
+                request.getMethod(), uri, counts.statements(), counts.entityLoads());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .tag("method", method)
+            .tag("uri", uri)
+            .serviceLevelObjectives(BUCKETS)
+            .register(meterRegistry);
+    }
+}
@@ -2,6 +2,7 @@ package com.store.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,6 +15,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -22,7 +26,7 @@ public class SecurityConfig {
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessLogger accessLogger) throws Exception {
         logger.info("Configuring security filter chain");
         http
             .csrf().disable()            
@@ -31,15 +35,25 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/h2-console/**").permitAll() // Allow all to H2 console
+                .requestMatchers("/actuator/health").permitAll()   // Liveness checks
+                .requestMatchers("/actuator/**").hasRole("ADMIN")   // Metrics, including Prometheus scrape
                 
                 .requestMatchers(HttpMethod.POST, "/api/products").hasRole("ADMIN")    // Create product
+                .requestMatchers(HttpMethod.POST, "/api/products/batch").hasRole("ADMIN")    // Create products in bulk
+                .requestMatchers(HttpMethod.POST, "/api/products/lookup").hasAnyRole("USER", "ADMIN")   // Get products by ids
                 .requestMatchers(HttpMethod.PUT, "/api/products/*").hasRole("ADMIN")   // Update product
                 .requestMatchers(HttpMethod.DELETE, "/api/products/*").hasRole("ADMIN")   // Delete product
                 .requestMatchers(HttpMethod.GET, "/api/products").hasAnyRole("USER", "ADMIN")     // List all products
                 .requestMatchers(HttpMethod.GET, "/api/products/*").hasAnyRole("USER", "ADMIN")   // Get product by ID
+                .requestMatchers(HttpMethod.GET, "/api/price-updates/*").hasRole("ADMIN")   // Status of queued price updates
+                .requestMatchers(HttpMethod.GET, "/api/reactive/products/**").hasAnyRole("USER", "ADMIN")   // Reactive reads
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")   // Operational endpoints
                 .anyRequest().authenticated()
             )
-            .httpBasic();
+            .httpBasic()
+            .and()
+            // Not a bean: Spring Boot would also register it as a servlet filter outside the chain
+            .addFilterAfter(new AccessLogFilter(accessLogger), SecurityContextHolderFilter.class);
         
         return http.build();
     }
@@ -62,6 +76,20 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin, user);
     }
 
+    @Bean
+    public CachingDaoAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            @Value("${store.security.credential-cache.maximum-size:1000}") long maximumSize,
+            @Value("${store.security.credential-cache.ttl:5m}") Duration ttl) {
+        logger.info("Creating authentication provider with verified-credential cache: maximumSize={}, ttl={}",
+            maximumSize, ttl);
+        CachingDaoAuthenticationProvider provider =
+            new CachingDaoAuthenticationProvider(passwordEncoder, maximumSize, ttl);
+        provider.setUserDetailsService(userDetailsService);
+        return provider;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         logger.debug("Creating BCrypt password encoder");
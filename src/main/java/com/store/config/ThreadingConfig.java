@@ -0,0 +1,71 @@
+package com.store.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Threading setup shared by the default (platform-thread) mode and the opt-in virtual-thread
+ * mode ({@code --spring.profiles.active=virtual-threads}, Java 21+).
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    /**
+     * Carries the caller's MDC (request id) into tasks of Spring Boot's applicationTaskExecutor,
+     * e.g. streamed responses. MDC lives in a ThreadLocal, so without this the request id is lost
+     * as soon as work leaves the request thread, whether that thread is virtual or not.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> threadingModeReport(
+            Environment environment,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested) {
+        return event -> {
+            if (Threading.VIRTUAL.isActive(environment)) {
+                logger.info("Request handling runs on virtual threads");
+            } else if (virtualThreadsRequested) {
+                logger.warn("spring.threads.virtual.enabled is set but the runtime is Java {}; virtual threads need "
+                    + "Java 21 or newer, falling back to platform threads", JavaVersion.getJavaVersion());
+            } else {
+                logger.info("Request handling runs on platform threads");
+            }
+        };
+    }
+}
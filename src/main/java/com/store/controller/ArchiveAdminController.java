@@ -0,0 +1,62 @@
+package com.store.controller;
+
+import com.store.dto.ArchiveRunStatus;
+import com.store.dto.ArchivedProductResponse;
+import com.store.service.ProductArchiver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/archive")
+@Tag(name = "Administration", description = "Operational endpoints")
+@SecurityRequirement(name = "basicAuth")
+public class ArchiveAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveAdminController.class);
+    private final ProductArchiver productArchiver;
+
+    public ArchiveAdminController(ProductArchiver productArchiver) {
+        this.productArchiver = productArchiver;
+    }
+
+    @Operation(summary = "Get an archived product", description = "A soft-deleted product that the archiving job moved out of the products table, with when it was deleted and archived. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Archived product found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+        @ApiResponse(responseCode = "404", description = "No archived product with this id")
+    })
+    @GetMapping("/products/{id}")
+    public ResponseEntity<ArchivedProductResponse> getArchivedProduct(
+            @Parameter(description = "ID of the deleted product")
+            @PathVariable Long id) {
+        logger.debug("GET /api/admin/archive/products/{} - Fetching archived product", id);
+        return ResponseEntity.ok(ArchivedProductResponse.from(productArchiver.getArchivedProduct(id)));
+    }
+
+    @Operation(summary = "Recent archiving runs", description = "Rows moved, batches, duration and any error of the latest archiving runs, newest first. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Runs retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @GetMapping("/runs")
+    public ResponseEntity<List<ArchiveRunStatus>> getRecentRuns() {
+        logger.debug("GET /api/admin/archive/runs - Fetching archiving runs");
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(productArchiver.getRecentRuns());
+    }
+}
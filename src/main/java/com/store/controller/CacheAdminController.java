@@ -0,0 +1,50 @@
+package com.store.controller;
+
+import com.store.dto.CacheStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@Tag(name = "Administration", description = "Operational endpoints")
+@SecurityRequirement(name = "basicAuth")
+public class CacheAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminController.class);
+    private final CacheManager cacheManager;
+
+    public CacheAdminController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Operation(summary = "Cache statistics", description = "Size, hit/miss, eviction and load statistics of every application cache, for sizing the caches against real traffic. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        logger.debug("GET /api/admin/caches - Fetching cache statistics");
+        List<CacheStatsResponse> response = cacheManager.getCacheNames().stream()
+            .sorted()
+            .map(cacheManager::getCache)
+            .filter(CaffeineCache.class::isInstance)
+            .map(cache -> CacheStatsResponse.from(cache.getName(), ((CaffeineCache) cache).getNativeCache()))
+            .toList();
+        return ResponseEntity.ok(response);
+    }
+}
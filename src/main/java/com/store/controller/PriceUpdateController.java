@@ -0,0 +1,50 @@
+package com.store.controller;
+
+import com.store.dto.PriceUpdateStatus;
+import com.store.exception.PriceUpdateNotFoundException;
+import com.store.service.PriceUpdateQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/price-updates")
+@Tag(name = "Products", description = "Product management endpoints")
+@SecurityRequirement(name = "basicAuth")
+public class PriceUpdateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceUpdateController.class);
+    private final PriceUpdateQueue priceUpdateQueue;
+
+    public PriceUpdateController(PriceUpdateQueue priceUpdateQueue) {
+        this.priceUpdateQueue = priceUpdateQueue;
+    }
+
+    @Operation(summary = "Get the status of an asynchronous price update", description = "Reports whether a price update accepted with Prefer: respond-async is still pending, was applied (with the resulting version), superseded by a later update of the same product, or rejected. Statuses are kept for store.price-updates.write-behind.status-retention. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired token")
+    })
+    @GetMapping("/{token}")
+    public ResponseEntity<PriceUpdateStatus> getStatus(
+            @Parameter(description = "Token returned when the update was accepted")
+            @PathVariable String token) {
+        logger.debug("GET /api/price-updates/{} - Fetching status", token);
+        PriceUpdateStatus status = priceUpdateQueue.getStatus(token)
+            .orElseThrow(() -> new PriceUpdateNotFoundException("Price update not found with token: " + token));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(status);
+    }
+}
@@ -1,25 +1,58 @@
 package com.store.controller;
 
 // Spring Framework imports
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // Jakarta EE imports
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 // Logging imports
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // Application imports
+import com.store.dto.BatchCreateProductsResponse;
+import com.store.dto.BatchItemResult;
+import com.store.dto.ChangeSet;
+import com.store.dto.CompactProduct;
 import com.store.dto.CreateProductRequest;
+import com.store.dto.CursorPage;
+import com.store.dto.PriceUpdateStatus;
+import com.store.dto.ProductChangeResponse;
+import com.store.dto.ProductLookupRequest;
+import com.store.dto.ProductLookupResponse;
 import com.store.dto.ProductResponse;
+import com.store.dto.SliceResponse;
 import com.store.dto.UpdateProductPriceRequest;
+import com.store.exception.InvalidRequestException;
+import com.store.exception.PreconditionFailedException;
+import com.store.exception.ProductNotFoundException;
+import com.store.exception.ProductVersionMismatchException;
 import com.store.model.Product;
+import com.store.repository.PriceRange;
+import com.store.repository.ProductSortField;
+import com.store.service.PriceUpdateQueue;
+import com.store.service.ProductChangeFeed;
+import com.store.service.ProductExportService;
+import com.store.service.ProductExportService.ExportFormat;
+import com.store.service.ProductReadEngine;
+import com.store.service.ProductSearchIndex;
 import com.store.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +64,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/products")
 @Validated
@@ -39,10 +82,42 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+    // Clients may keep responses but must revalidate them with If-None-Match before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    // RFC 7240 preference for queuing price updates instead of writing them in the request
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 8;   // price column: precision 10, scale 2
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductReadEngine productReadEngine;
+    private final ProductJsonCache productJsonCache;
+    private final PriceUpdateQueue priceUpdateQueue;
+    private final ProductChangeFeed productChangeFeed;
+    private final ProductSearchIndex productSearchIndex;
+    private final Validator validator;
+    private final int maxBatchSize;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductExportService productExportService,
+                             ProductReadEngine productReadEngine,
+                             ProductJsonCache productJsonCache,
+                             PriceUpdateQueue priceUpdateQueue,
+                             ProductChangeFeed productChangeFeed,
+                             ProductSearchIndex productSearchIndex,
+                             Validator validator,
+                             @Value("${store.batch.max-size:10000}") int maxBatchSize) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productReadEngine = productReadEngine;
+        this.productJsonCache = productJsonCache;
+        this.priceUpdateQueue = priceUpdateQueue;
+        this.productChangeFeed = productChangeFeed;
+        this.productSearchIndex = productSearchIndex;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Operation(summary = "Create a new product", description = "Creates a new product with the given name and price. Requires ADMIN role.")
@@ -54,93 +129,405 @@ public class ProductController {
     })
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody CreateProductRequest request) {
-        logger.info("POST /api/products - Creating product: name={}, price={}", request.name(), request.price());
+        logger.debug("POST /api/products - Creating product: name={}, price={}", request.name(), request.price());
         
         Product product = new Product(request.name(), request.price());
         Product savedProduct = productService.addProduct(product);
         ProductResponse response = ProductResponse.from(savedProduct);
         
-        logger.info("POST /api/products - Product created successfully: id={}, name={}, price={}", 
+        logger.debug("POST /api/products - Product created successfully: id={}, name={}, price={}", 
             response.id(), response.name(), response.price());
-        return ResponseEntity.status(201).body(response);
+        return ResponseEntity.status(201).eTag(ProductETags.of(savedProduct)).body(response);
+    }
+
+    @Operation(summary = "Create products in bulk", description = "Validates each item independently and persists the valid ones in chunked JDBC batches within one transaction. Returns a result per item, in request order. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateProductsResponse> createProducts(@RequestBody List<CreateProductRequest> requests) {
+        logger.debug("POST /api/products/batch - Creating {} products", requests.size());
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new InvalidRequestException(
+                String.format("Batch must contain between 1 and %d products, got %d", maxBatchSize, requests.size()));
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        List<Product> products = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateProductRequest request = requests.get(i);
+            String error = validationError(request);
+            if (error != null) {
+                results[i] = BatchItemResult.invalid(i, error);
+            } else {
+                validIndexes.add(i);
+                products.add(new Product(request.name(), request.price()));
+            }
+        }
+
+        List<Product> savedProducts = products.isEmpty() ? List.of() : productService.addProducts(products);
+        for (int i = 0; i < savedProducts.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.created(index, ProductResponse.from(savedProducts.get(i)));
+        }
+
+        BatchCreateProductsResponse response = BatchCreateProductsResponse.of(Arrays.asList(results));
+        logger.debug("POST /api/products/batch - Created {} products, {} rejected", response.created(), response.failed());
+        return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Get a product by ID", description = "Retrieves a product by its ID. Accessible by both USER and ADMIN roles.")
+    @Operation(summary = "Get a product by ID", description = "Retrieves a product by its ID. The response carries a strong ETag derived from id and version; send it back in If-None-Match to get 304 Not Modified while the product is unchanged. Accessible by both USER and ADMIN roles.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "200", description = "Product found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the given ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProduct(
+    public ResponseEntity<byte[]> getProduct(
             @Parameter(description = "ID of the product to retrieve") 
-            @PathVariable Long id) {
-        logger.info("GET /api/products/{} - Fetching product", id);
-        
-        Product product = productService.getProductById(id);
-        ProductResponse response = ProductResponse.from(product);
+            @PathVariable Long id,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+        logger.debug("GET /api/products/{} - Fetching product", id);
         
-        logger.info("GET /api/products/{} - Product found: name={}, price={}", 
-            id, response.name(), response.price());
-        return ResponseEntity.ok(response);
+        // Ids missing from the snapshot (or no snapshot) go to the service, which also produces the 404
+        CompactProduct product = productReadEngine.findById(id)
+            .orElseGet(() -> CompactProduct.from(productService.getProductById(id)));
+        String eTag = ProductETags.of(product);
+
+        // The tag comes from the (usually cached) entity, so an unchanged product is answered
+        // with 304 before any rendering; otherwise the pre-rendered JSON is copied as is
+        if (webRequest.checkNotModified(eTag)) {
+            logger.debug("GET /api/products/{} - Not modified", id);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            return null;
+        }
+        logger.debug("GET /api/products/{} - Product found: name={}, price={}", 
+            id, product.name(), product.price());
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(REVALIDATE)
+            .eTag(eTag)
+            .body(productJsonCache.render(product));
+    }
+
+    @Operation(summary = "Get several products by ID", description = "Resolves up to 1000 ids in one call: cache hits are served directly and all misses are loaded with a single query. Unknown or deleted ids are listed in missingIds. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "No ids, too many ids, or ids combined with mode"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = "ids")   // The slice and cursor listings exclude ids, so ids&mode lands here
+    public ResponseEntity<ProductLookupResponse> getProductsByIds(
+            @Parameter(description = "Comma-separated product ids")
+            @RequestParam List<Long> ids,
+            @Parameter(hidden = true)
+            @RequestParam(required = false) String mode) {
+        if (mode != null) {
+            throw new InvalidRequestException("ids cannot be combined with mode=" + mode);
+        }
+        logger.debug("GET /api/products?ids - Fetching {} products", ids.size());
+        return ResponseEntity.ok(lookup(ids));
     }
 
-    @Operation(summary = "Update product price", description = "Updates the price of an existing product. Supports optimistic locking via version field. Requires ADMIN role.")
+    @Operation(summary = "Get several products by ID (POST form)", description = "Same as GET /api/products?ids=..., for id lists too long for a query string. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "No ids or too many ids"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductLookupResponse> lookupProducts(@Valid @RequestBody ProductLookupRequest request) {
+        logger.debug("POST /api/products/lookup - Fetching {} products", request.ids().size());
+        return ResponseEntity.ok(lookup(request.ids()));
+    }
+
+    @Operation(summary = "Update product price", description = "Updates the price of an existing product. Supports optimistic locking via the version field or, equivalently, an If-Match header holding the product ETag. With Prefer: respond-async (and write-behind enabled) the update is queued and answered with 202 and a status location; queued updates of the same product are coalesced. Requires ADMIN role.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Price updated successfully"),
+        @ApiResponse(responseCode = "202", description = "Update queued, see Location for its status"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
         @ApiResponse(responseCode = "404", description = "Product not found"),
-        @ApiResponse(responseCode = "409", description = "Version mismatch")
+        @ApiResponse(responseCode = "409", description = "Version mismatch"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current product ETag, or the product does not exist"),
+        @ApiResponse(responseCode = "503", description = "Too many queued updates")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<ProductResponse> updateProductPrice(
+    public ResponseEntity<?> updateProductPrice(
             @Parameter(description = "ID of the product to update")
             @PathVariable Long id,
+            @Parameter(description = "ETag of the product version being updated, or *")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "respond-async to queue the update (write-behind)")
+            @RequestHeader(value = PREFER, required = false) String prefer,
             @Valid @RequestBody UpdateProductPriceRequest request) {
-        logger.info("PUT /api/products/{} - Updating price to {}, version: {}", 
-            id, request.price(), request.version());
-        
-        Product updatedProduct = productService.updatePrice(id, request.price(), request.version());
+        logger.debug("PUT /api/products/{} - Updating price to {}, version: {}, If-Match: {}", 
+            id, request.price(), request.version(), ifMatch);
+
+        Integer expectedVersion = request.version();
+        if (ifMatch != null) {
+            Integer ifMatchVersion = ProductETags.expectedVersion(ifMatch, id);
+            if (ifMatchVersion != null && expectedVersion != null && !ifMatchVersion.equals(expectedVersion)) {
+                throw new InvalidRequestException(String.format(
+                    "If-Match version %d contradicts body version %d", ifMatchVersion, expectedVersion));
+            }
+            if (ifMatchVersion != null) {
+                expectedVersion = ifMatchVersion;
+            }
+        }
+
+        if (prefer != null && prefer.contains(RESPOND_ASYNC) && priceUpdateQueue.isEnabled()) {
+            PriceUpdateStatus status;
+            try {
+                status = priceUpdateQueue.submit(id, request.price(), expectedVersion);
+            } catch (ProductNotFoundException e) {
+                throw ifMatch == null ? e : new PreconditionFailedException(e.getMessage());
+            }
+            logger.debug("PUT /api/products/{} - Price update queued: token={}", id, status.token());
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/price-updates/" + status.token()))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(status);
+        }
+
+        Product updatedProduct;
+        try {
+            updatedProduct = productService.updatePrice(id, request.price(), expectedVersion);
+        } catch (ProductVersionMismatchException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(e.getMessage());
+        } catch (ProductNotFoundException e) {
+            // RFC 9110: If-Match, even *, fails when there is no current representation
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(e.getMessage());
+        }
         ProductResponse response = ProductResponse.from(updatedProduct);
         
-        logger.info("PUT /api/products/{} - Price updated successfully: new price={}, new version={}", 
+        logger.debug("PUT /api/products/{} - Price updated successfully: new price={}, new version={}", 
             id, response.price(), response.version());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ProductETags.of(updatedProduct)).body(response);
     }
 
-    @Operation(summary = "List all products", description = "Retrieves a paginated list of products. Supports sorting and pagination. Accessible by both USER and ADMIN roles.")
+    @Operation(summary = "List all products", description = "Retrieves a paginated list of products. Sortable by id, name, price and updatedAt, with an optional minPrice/maxPrice range (inclusive). Accessible by both USER and ADMIN roles.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, direction or price range"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getAllProducts(
+    public ResponseEntity<Page<CompactProduct>> getAllProducts(
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") 
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Field to sort by") 
+            @Parameter(description = "Field to sort by (id, name, price, updatedAt)")
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)") 
-            @RequestParam(defaultValue = "asc") String direction) {
-        logger.info("GET /api/products - Fetching products with pagination: page={}, size={}, sortBy={}, direction={}", 
-            page, size, sortBy, direction);
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Lowest price to include")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Highest price to include")
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        logger.debug("GET /api/products - Fetching products with pagination: page={}, size={}, sortBy={}, direction={}, minPrice={}, maxPrice={}", 
+            page, size, sortBy, direction, minPrice, maxPrice);
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        PageRequest pageRequest = ProductSorting.pageRequest(page, size, sortBy, direction);
+        PriceRange priceRange = priceRange(minPrice, maxPrice);
         
-        Page<Product> products = productService.getAllProducts(pageRequest);
-        Page<ProductResponse> response = products.map(ProductResponse::from);
+        Page<CompactProduct> response = productReadEngine.findPage(pageRequest, priceRange)
+            .orElseGet(() -> productService.getAllProducts(pageRequest, priceRange).map(CompactProduct::from));
         
-        logger.info("GET /api/products - Found {} products (page {} of {})", 
+        logger.debug("GET /api/products - Found {} products (page {} of {})", 
             response.getNumberOfElements(), 
             response.getNumber() + 1, 
             response.getTotalPages());
+        return ResponseEntity.ok()
+            .cacheControl(REVALIDATE)
+            .eTag(ProductETags.of(response.getContent(), "page", page, size, pageRequest.getSort(), priceRange, response.getTotalElements()))
+            .body(response);
+    }
+
+    @Operation(summary = "List products without counting", description = "Like the paginated list, but returns hasNext instead of totals so no count(*) query runs. Set includeTotal=true to add an incrementally maintained product count. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Slice unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, direction or price range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = {"mode=slice", "!ids"})
+    public ResponseEntity<SliceResponse<CompactProduct>> getProductsSlice(
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, name, price, updatedAt)")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Include the total number of products (cached and approximate without a price range)")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Lowest price to include")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Highest price to include")
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        logger.debug("GET /api/products?mode=slice - Fetching products: page={}, size={}, sortBy={}, direction={}, includeTotal={}, minPrice={}, maxPrice={}",
+            page, size, sortBy, direction, includeTotal, minPrice, maxPrice);
+
+        PageRequest pageRequest = ProductSorting.pageRequest(page, size, sortBy, direction);
+        PriceRange priceRange = priceRange(minPrice, maxPrice);
+
+        Slice<Product> products = productService.getProductsSlice(pageRequest, priceRange);
+        Long total = includeTotal ? productService.getProductCount(priceRange) : null;
+        SliceResponse<CompactProduct> response = SliceResponse.from(products, CompactProduct::from, total);
+
+        logger.debug("GET /api/products?mode=slice - Found {} products, hasNext={}",
+            response.content().size(), response.hasNext());
+        return ResponseEntity.ok()
+            .cacheControl(REVALIDATE)
+            .eTag(ProductETags.of(response.content(), "slice", page, size, pageRequest.getSort(), priceRange, products.hasNext(), total))
+            .body(response);
+    }
+
+    @Operation(summary = "List products by cursor", description = "Keyset pagination over the product list: pass the returned nextCursor to fetch the following page. Cost does not grow with depth and no total count is computed. Sortable by id, name, price and updatedAt; keep sortBy, direction and any minPrice/maxPrice unchanged while following a cursor. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = {"mode=cursor", "!ids"})
+    public ResponseEntity<CursorPage<CompactProduct>> getProductsByCursor(
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, name, price, updatedAt)")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Lowest price to include")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Highest price to include")
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        logger.debug("GET /api/products?mode=cursor - Fetching products: cursor={}, size={}, sortBy={}, direction={}, minPrice={}, maxPrice={}",
+            cursor, size, sortBy, direction, minPrice, maxPrice);
+
+        ProductSortField sortField = ProductSortField.fromProperty(sortBy)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort field for cursor pagination: " + sortBy));
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort direction: " + direction));
+
+        PriceRange priceRange = priceRange(minPrice, maxPrice);
+
+        CursorPage<Product> products = productService.getProductsByCursor(sortField, sortDirection, cursor, size, priceRange);
+        CursorPage<CompactProduct> response = products.map(CompactProduct::from);
+
+        logger.debug("GET /api/products?mode=cursor - Found {} products, hasNext={}",
+            response.content().size(), response.hasNext());
+        return ResponseEntity.ok()
+            .cacheControl(REVALIDATE)
+            .eTag(ProductETags.of(response.content(), "cursor", cursor, size, sortField, sortDirection, priceRange, products.nextCursor()))
+            .body(response);
+    }
+
+    @Operation(summary = "Search products by name", description = "Ranked name search from an in-memory index: queries of three or more characters match anywhere in the name, shorter ones match the start of a word; case and punctuation are ignored. Exact names rank first, then names starting with the query, then words starting with it. Only the first 1000 matches can be paged through. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid query or page"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "503", description = "Search index still loading")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<Page<CompactProduct>> searchProducts(
+            @Parameter(description = "Text to look for in product names")
+            @RequestParam String q,
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size) {
+        logger.debug("GET /api/products/search - Searching products: q={}, page={}, size={}", q, page, size);
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException(
+                String.format("Page must be 0 or more and size between 1 and %d", MAX_SEARCH_PAGE_SIZE));
+        }
+        Page<CompactProduct> response = productSearchIndex.search(q, PageRequest.of(page, size));
+        logger.debug("GET /api/products/search - Found {} matches", response.getTotalElements());
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "List changes since a token", description = "Delta sync: every product created, updated or soft-deleted after the given token, oldest first, with deleted products as tombstones (deleted=true). Pass nextToken back as since to continue; omit since for a full sync. Changes from the last few seconds are held back until they have settled. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSet<ProductChangeResponse>> getChanges(
+            @Parameter(description = "nextToken of the previous response; omit for a full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return")
+            @RequestParam(defaultValue = "1000") int limit) {
+        logger.debug("GET /api/products/changes - Fetching changes: since={}, limit={}", since, limit);
+        ChangeSet<ProductChangeResponse> response = productService.getChanges(since, limit).map(ProductChangeResponse::from);
+        logger.debug("GET /api/products/changes - Found {} changes, hasMore={}", response.changes().size(), response.hasMore());
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(response);
+    }
+
+    @Operation(summary = "Export the catalog", description = "Streams every non-deleted product, ordered by id, as NDJSON (one product per line) or CSV. Memory use is constant regardless of catalog size. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Export format (ndjson/csv)")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        logger.debug("GET /api/products/export - Exporting catalog as {}", format);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unsupported export format: " + format);
+        }
+
+        StreamingResponseBody body = out -> productExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"products." + exportFormat.getFileExtension() + "\"")
+            .body(body);
+    }
+
+    @Operation(summary = "Stream product changes", description = "Server-Sent Events feed of committed changes: 'created', 'price-changed' and 'deleted' events carrying the product, with resumable ids. Reconnect with Last-Event-ID to receive missed events; a 'reset' event means they are no longer available and the catalog should be re-read. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "503", description = "Too many subscribers")
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event received, to resume after it")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        logger.debug("GET /api/products/stream - Subscribing to changes (Last-Event-ID {})", lastEventId);
+        return productChangeFeed.subscribe(lastEventId);
+    }
+
     @Operation(summary = "Delete a product", description = "Soft deletes a product by ID. Requires ADMIN role.")
     @ApiResponses({
         @ApiResponse(responseCode = "204", description = "Product deleted successfully"),
@@ -152,8 +539,52 @@ public class ProductController {
     public ResponseEntity<Void> deleteProduct(
             @Parameter(description = "ID of the product to delete")
             @PathVariable Long id) {
-        logger.info("DELETE /api/products/{} - Soft deleting product", id);
+        logger.debug("DELETE /api/products/{} - Soft deleting product", id);
         productService.softDeleteProduct(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    private static PriceRange priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new InvalidRequestException("Price bounds must be 0 or higher");
+        }
+        if (exceedsPriceColumn(minPrice) || exceedsPriceColumn(maxPrice)) {
+            throw new InvalidRequestException(
+                "Price bounds must have at most " + MAX_PRICE_INTEGER_DIGITS + " digits before the decimal point");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidRequestException("minPrice must not exceed maxPrice");
+        }
+        return new PriceRange(minPrice, maxPrice);
+    }
+
+    // Wider bounds cannot match a price(10, 2) and would overflow the snapshot's long cents
+    private static boolean exceedsPriceColumn(BigDecimal bound) {
+        return bound != null && bound.precision() - bound.scale() > MAX_PRICE_INTEGER_DIGITS;
+    }
+
+    private String validationError(CreateProductRequest request) {
+        if (request == null) {
+            return "Product must not be null";
+        }
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private ProductLookupResponse lookup(List<Long> ids) {
+        List<Product> products = productService.getProductsByIds(ids);
+        Set<Long> foundIds = new HashSet<>(products.size() * 2);
+        products.forEach(product -> foundIds.add(product.getId()));
+        List<Long> missingIds = new LinkedHashSet<>(ids).stream()
+            .filter(id -> !foundIds.contains(id))
+            .toList();
+        logger.debug("Lookup resolved {} products, {} missing", products.size(), missingIds.size());
+        return new ProductLookupResponse(products.stream().map(ProductResponse::from).toList(), missingIds);
+    }
+}
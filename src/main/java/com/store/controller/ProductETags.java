@@ -0,0 +1,64 @@
+package com.store.controller;
+
+import com.store.dto.CompactProduct;
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Strong entity tags derived from the product @Version counter.
+ *
+ * A single product is tagged {@code "id-version"}, so the tag can be computed from the cached
+ * entity alone. A list page is tagged with a digest of the (id, version) pairs it contains plus
+ * whatever else shapes the response (paging, sort, totals), so the tag changes whenever any
+ * listed product changes, disappears or moves.
+ */
+final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    static String of(Product product) {
+        return "\"" + product.getId() + "-" + product.getVersion() + "\"";
+    }
+
+    static String of(CompactProduct product) {
+        return "\"" + product.id() + "-" + product.version() + "\"";
+    }
+
+    static String of(List<CompactProduct> products, Object... shape) {
+        StringBuilder source = new StringBuilder(products.size() * 12 + 32);
+        for (Object part : shape) {
+            source.append(part).append('|');
+        }
+        for (CompactProduct product : products) {
+            source.append(product.id()).append(':').append(product.version()).append(',');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Reads an If-Match header as the version the client expects product {@code id} to have.
+     *
+     * @return the expected version, or {@code null} for {@code *} (any current version)
+     * @throws InvalidRequestException if the header is not a single strong tag of this product
+     */
+    static Integer expectedVersion(String ifMatch, Long id) {
+        String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            throw new InvalidRequestException("If-Match must be \"*\" or a single strong ETag of product " + id);
+        }
+        try {
+            return Integer.valueOf(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be \"*\" or a single strong ETag of product " + id);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.store.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.store.config.CacheConfig;
+import com.store.dto.CompactProduct;
+import com.store.dto.ProductJson;
+import com.store.model.Product;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the rendered JSON of recently read products, so hot reads skip building a
+ * CompactProduct and running Jackson. Entries live in the {@code productJson} cache, keyed by
+ * id and checked against the product version; ProductService evicts them wherever it evicts or
+ * replaces the {@code products} entry.
+ */
+@Component
+class ProductJsonCache {
+
+    private final CacheManager cacheManager;
+    private final ObjectWriter productWriter;
+
+    ProductJsonCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.productWriter = objectMapper.writerFor(CompactProduct.class);
+    }
+
+    byte[] render(Product product) {
+        return render(product.getId(), product.getVersion(), () -> CompactProduct.from(product));
+    }
+
+    byte[] render(CompactProduct product) {
+        return render(product.id(), product.version(), () -> product);
+    }
+
+    // The product is only built on a miss
+    private byte[] render(Long id, Integer version, Supplier<CompactProduct> product) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+        ProductJson cached = cache != null ? cache.get(id, ProductJson.class) : null;
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached.body();
+        }
+        byte[] body = encode(product.get());
+        if (cache != null) {
+            cache.put(id, new ProductJson(version, body));
+        }
+        return body;
+    }
+
+    private byte[] encode(CompactProduct product) {
+        try {
+            return productWriter.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to render product " + product.id(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.store.controller;
+
+import com.store.exception.InvalidRequestException;
+import com.store.repository.ProductSortField;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page requests for the offset listings. Only {@link ProductSortField}s are sortable: each has
+ * indexes that return rows in order in both directions, so no listing sorts the whole table.
+ */
+final class ProductSorting {
+
+    private ProductSorting() {
+    }
+
+    /**
+     * @throws InvalidRequestException if the field is not a {@link ProductSortField} property or the direction is not asc/desc
+     */
+    static PageRequest pageRequest(int page, int size, String sortBy, String direction) {
+        ProductSortField sortField = ProductSortField.fromProperty(sortBy)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort field: " + sortBy));
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort direction: " + direction));
+        return PageRequest.of(page, size, Sort.by(sortDirection, sortField.getProperty()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.store.controller;
+
+import com.store.dto.CompactProduct;
+import com.store.dto.ProductResponse;
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import com.store.repository.ProductSortField;
+import com.store.service.ReactiveProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only mirror of the product endpoints with Reactor return types. Spring MVC completes
+ * them asynchronously, so the servlet thread is released while a read waits on the database,
+ * and streamed items are written one at a time as the client consumes them.
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+@Tag(name = "Products (reactive)", description = "Non-blocking product reads")
+@SecurityRequirement(name = "basicAuth")
+public class ReactiveProductController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProductController.class);
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final int MAX_STREAM_BATCH_SIZE = 1000;
+
+    private final ReactiveProductService reactiveProductService;
+    private final ProductJsonCache productJsonCache;
+
+    public ReactiveProductController(ReactiveProductService reactiveProductService, ProductJsonCache productJsonCache) {
+        this.reactiveProductService = reactiveProductService;
+        this.productJsonCache = productJsonCache;
+    }
+
+    @Operation(summary = "Get a product by ID", description = "Same contract as GET /api/products/{id}, including ETag / If-None-Match. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Product found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the given ETag"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Product not found"),
+        @ApiResponse(responseCode = "503", description = "Too many reads waiting for the database")
+    })
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<byte[]>> getProduct(
+            @Parameter(description = "ID of the product to retrieve")
+            @PathVariable Long id) {
+        logger.debug("GET /api/reactive/products/{} - Fetching product", id);
+        // Spring MVC answers 304 itself when the ETag matches If-None-Match
+        return reactiveProductService.findById(id)
+            .map(product -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(REVALIDATE)
+                .eTag(ProductETags.of(product))
+                .body(productJsonCache.render(product)));
+    }
+
+    @Operation(summary = "List all products", description = "Same contract as GET /api/products. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field or direction"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "503", description = "Too many reads waiting for the database")
+    })
+    @GetMapping
+    public Mono<ResponseEntity<Page<CompactProduct>>> getAllProducts(
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by (id, name, price, updatedAt)")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "asc") String direction) {
+        logger.debug("GET /api/reactive/products - Fetching products: page={}, size={}, sortBy={}, direction={}",
+            page, size, sortBy, direction);
+        PageRequest pageRequest = ProductSorting.pageRequest(page, size, sortBy, direction);
+
+        return reactiveProductService.findPage(pageRequest)
+            .map(products -> ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(ProductETags.of(products.getContent(), "page", page, size, pageRequest.getSort(), products.getTotalElements()))
+                .body(products));
+    }
+
+    @Operation(summary = "Stream all products", description = "Streams every non-deleted product as NDJSON, read in keyset batches only as fast as the client consumes them. Sortable by id, name, price and updatedAt. Accessible by both USER and ADMIN roles.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, direction or batch size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponse> streamProducts(
+            @Parameter(description = "Field to sort by (id, name, price, updatedAt)")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Products read from the database per query")
+            @RequestParam(defaultValue = "200") int batchSize) {
+        logger.debug("GET /api/reactive/products/stream - Streaming products: sortBy={}, direction={}, batchSize={}",
+            sortBy, direction, batchSize);
+        ProductSortField sortField = ProductSortField.fromProperty(sortBy)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort field for streaming: " + sortBy));
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+            .orElseThrow(() -> new InvalidRequestException("Unsupported sort direction: " + direction));
+        if (batchSize < 1 || batchSize > MAX_STREAM_BATCH_SIZE) {
+            throw new InvalidRequestException(
+                String.format("Batch size must be between 1 and %d, got %d", MAX_STREAM_BATCH_SIZE, batchSize));
+        }
+
+        return reactiveProductService.streamAll(sortField, sortDirection, batchSize)
+            .map(ProductResponse::from);
+    }
+}
@@ -0,0 +1,72 @@
+package com.store.controller;
+
+import com.store.dto.RepricingJobRequest;
+import com.store.dto.RepricingJobStatus;
+import com.store.exception.RepricingJobNotFoundException;
+import com.store.service.RepricingJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/admin/repricing-jobs")
+@Tag(name = "Administration", description = "Operational endpoints")
+@SecurityRequirement(name = "basicAuth")
+public class RepricingJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepricingJobController.class);
+    private final RepricingJobService repricingJobService;
+
+    public RepricingJobController(RepricingJobService repricingJobService) {
+        this.repricingJobService = repricingJobService;
+    }
+
+    @Operation(summary = "Start a bulk repricing job", description = "Changes the price of every product matching the filter (nameContains, minPrice, maxPrice; all optional, combined with AND) with SET, ADD or PERCENT. Runs in the background as chunked set-based UPDATEs that bump version and updatedAt; poll the returned Location for progress. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or price expression"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @PostMapping
+    public ResponseEntity<RepricingJobStatus> startJob(@Valid @RequestBody RepricingJobRequest request) {
+        logger.debug("POST /api/admin/repricing-jobs - Starting job: {}", request);
+        RepricingJobStatus status = repricingJobService.submit(request.toRule());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/admin/repricing-jobs/" + status.id()))
+            .body(status);
+    }
+
+    @Operation(summary = "Get a repricing job", description = "State and progress of a repricing job: matching and updated products, chunks completed, and any error. Requires ADMIN role.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+        @ApiResponse(responseCode = "404", description = "Unknown job")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<RepricingJobStatus> getJob(
+            @Parameter(description = "Job id returned when the job was started")
+            @PathVariable String id) {
+        logger.debug("GET /api/admin/repricing-jobs/{} - Fetching job", id);
+        RepricingJobStatus status = repricingJobService.getStatus(id)
+            .orElseThrow(() -> new RepricingJobNotFoundException("Repricing job not found with id: " + id));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(status);
+    }
+}
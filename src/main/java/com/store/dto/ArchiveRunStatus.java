@@ -0,0 +1,17 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArchiveRunStatus(
+    Instant startedAt,
+    Instant finishedAt,
+    Instant deletedBefore,       // Products soft-deleted before this were eligible
+    long rowsMoved,
+    int batches,
+    long durationMillis,
+    String error                 // Batches completed before the failure stay moved
+) {
+}
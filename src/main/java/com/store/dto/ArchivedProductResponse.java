@@ -0,0 +1,28 @@
+package com.store.dto;
+
+import com.store.model.ArchivedProduct;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ArchivedProductResponse(
+    Long id,
+    String name,
+    BigDecimal price,
+    Integer version,
+    Instant createdAt,
+    Instant deletedAt,
+    Instant archivedAt
+) {
+    public static ArchivedProductResponse from(ArchivedProduct product) {
+        return new ArchivedProductResponse(
+            product.getId(),
+            product.getName(),
+            product.getPrice(),
+            product.getVersion(),
+            product.getCreatedAt(),
+            product.getUpdatedAt(),
+            product.getArchivedAt()
+        );
+    }
+}
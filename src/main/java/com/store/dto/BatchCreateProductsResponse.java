@@ -0,0 +1,17 @@
+package com.store.dto;
+
+import java.util.List;
+
+public record BatchCreateProductsResponse(
+    int total,
+    int created,
+    int failed,
+    List<BatchItemResult> results
+) {
+    public static BatchCreateProductsResponse of(List<BatchItemResult> results) {
+        int created = (int) results.stream()
+            .filter(result -> result.status() == BatchItemResult.Status.CREATED)
+            .count();
+        return new BatchCreateProductsResponse(results.size(), created, results.size() - created, results);
+    }
+}
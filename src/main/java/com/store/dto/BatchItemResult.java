@@ -0,0 +1,21 @@
+package com.store.dto;
+
+public record BatchItemResult(
+    int index,
+    Status status,
+    ProductResponse product,
+    String error
+) {
+    public enum Status {
+        CREATED,
+        INVALID
+    }
+
+    public static BatchItemResult created(int index, ProductResponse product) {
+        return new BatchItemResult(index, Status.CREATED, product, null);
+    }
+
+    public static BatchItemResult invalid(int index, String error) {
+        return new BatchItemResult(index, Status.INVALID, null, error);
+    }
+}
@@ -0,0 +1,45 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CacheStatsResponse(
+    String name,
+    long estimatedSize,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long weightedSizeBytes,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long maximum,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long evictionCount,
+    long evictionWeight,
+    long loadSuccessCount,
+    long loadFailureCount,
+    double averageLoadPenaltyMillis
+) {
+    public static CacheStatsResponse from(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Policy.Eviction<?, ?> eviction = cache.policy().eviction().orElse(null);
+        Long weightedSize = eviction != null && eviction.isWeighted()
+            ? eviction.weightedSize().orElse(0L)
+            : null;
+        return new CacheStatsResponse(
+            name,
+            cache.estimatedSize(),
+            weightedSize,
+            eviction != null ? eviction.getMaximum() : null,
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount(),
+            stats.evictionWeight(),
+            stats.loadSuccessCount(),
+            stats.loadFailureCount(),
+            stats.averageLoadPenalty() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.store.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record ChangeSet<T>(
+    List<T> changes,
+    boolean hasMore,
+    String nextToken
+) {
+    public <R> ChangeSet<R> map(Function<? super T, ? extends R> mapper) {
+        return new ChangeSet<>(changes.stream().<R>map(mapper).toList(), hasMore, nextToken);
+    }
+}
@@ -0,0 +1,102 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.store.model.Product;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * Read-only product for in-memory read models and list responses. The price is kept as a
+ * {@code long} of minor units (cents) plus the scale it was given with, so holding, comparing and
+ * rendering a product never touches a {@link BigDecimal}. Serializes to exactly the JSON of
+ * {@link ProductResponse}: the price digits are written straight from the long.
+ */
+@JsonSerialize(using = CompactProduct.Writer.class)
+@Schema(implementation = ProductResponse.class)   // What the writer produces
+public record CompactProduct(
+    long id,
+    String name,
+    long priceCents,
+    int priceScale,   // 0 to 2 decimals, as stored
+    int version,
+    Instant createdAt,
+    Instant updatedAt
+) {
+    private static final int MAX_SCALE = 2;
+    private static final long[] POWERS_OF_TEN = {1, 10, 100};
+
+    // Prices are stored with two decimals, so more precise ones are rounded as the database rounds them
+    public static CompactProduct from(Product product) {
+        BigDecimal price = product.getPrice();
+        return new CompactProduct(
+            product.getId(),
+            product.getName(),
+            minorUnits(price, RoundingMode.HALF_UP),
+            Math.min(Math.max(price.scale(), 0), MAX_SCALE),
+            product.getVersion(),
+            product.getCreatedAt(),
+            product.getUpdatedAt()
+        );
+    }
+
+    public static long minorUnits(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(MAX_SCALE).setScale(0, rounding).longValueExact();
+    }
+
+    // Allocates; for callers outside the hot path
+    public BigDecimal price() {
+        return BigDecimal.valueOf(priceCents / POWERS_OF_TEN[MAX_SCALE - priceScale], priceScale);
+    }
+
+    public static final class Writer extends StdSerializer<CompactProduct> {
+
+        public Writer() {
+            super(CompactProduct.class);
+        }
+
+        @Override
+        public void serialize(CompactProduct product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(product);
+            generator.writeNumberField("id", product.id());
+            generator.writeStringField("name", product.name());
+            generator.writeFieldName("price");
+            writePrice(generator, product.priceCents(), product.priceScale());
+            generator.writeNumberField("version", product.version());
+            provider.defaultSerializeField("createdAt", product.createdAt(), generator);
+            provider.defaultSerializeField("updatedAt", product.updatedAt(), generator);
+            generator.writeEndObject();
+        }
+
+        // Same digits as BigDecimal.toString(), which stays plain at these scales
+        private static void writePrice(JsonGenerator generator, long cents, int scale) throws IOException {
+            long unscaled = cents / POWERS_OF_TEN[MAX_SCALE - scale];
+            if (scale == 0) {
+                generator.writeNumber(unscaled);
+                return;
+            }
+            char[] buffer = new char[24];
+            int position = buffer.length;
+            long remaining = Math.abs(unscaled);
+            for (int i = 0; i < scale; i++) {
+                buffer[--position] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+            buffer[--position] = '.';
+            do {
+                buffer[--position] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining > 0);
+            if (unscaled < 0) {
+                buffer[--position] = '-';
+            }
+            generator.writeNumber(buffer, position, buffer.length - position);
+        }
+    }
+}
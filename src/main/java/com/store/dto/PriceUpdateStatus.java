@@ -0,0 +1,40 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * State of a price update accepted with {@code Prefer: respond-async}, as returned by
+ * {@code GET /api/price-updates/{token}}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PriceUpdateStatus(
+    String token,
+    Long productId,
+    BigDecimal price,
+    State state,
+    Integer version,
+    String detail
+) {
+    public enum State {
+        PENDING,        // Queued, not yet written
+        APPLIED,        // Written; version is the product version it produced
+        SUPERSEDED,     // Replaced by a later update of the same product before it was written
+        CONFLICT,       // The expected version no longer matched
+        NOT_FOUND,      // The product was deleted before the update was written
+        FAILED          // The write failed; detail holds the reason
+    }
+
+    public static PriceUpdateStatus pending(String token, Long productId, BigDecimal price) {
+        return new PriceUpdateStatus(token, productId, price, State.PENDING, null, null);
+    }
+
+    public PriceUpdateStatus applied(Integer newVersion) {
+        return new PriceUpdateStatus(token, productId, price, State.APPLIED, newVersion, null);
+    }
+
+    public PriceUpdateStatus resolved(State state, String detail) {
+        return new PriceUpdateStatus(token, productId, price, state, null, detail);
+    }
+}
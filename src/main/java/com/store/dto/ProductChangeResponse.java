@@ -0,0 +1,35 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.store.model.Product;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Tombstones (deleted = true) carry only id, version and updatedAt
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductChangeResponse(
+    Long id,
+    String name,
+    BigDecimal price,
+    Integer version,
+    Instant createdAt,
+    Instant updatedAt,
+    boolean deleted
+) {
+    public static ProductChangeResponse from(Product product) {
+        if (product.isDeleted()) {
+            return new ProductChangeResponse(product.getId(), null, null, product.getVersion(), null,
+                product.getUpdatedAt(), true);
+        }
+        return new ProductChangeResponse(
+            product.getId(),
+            product.getName(),
+            product.getPrice(),
+            product.getVersion(),
+            product.getCreatedAt(),
+            product.getUpdatedAt(),
+            false
+        );
+    }
+}
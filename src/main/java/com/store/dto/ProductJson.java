@@ -0,0 +1,8 @@
+package com.store.dto;
+
+/**
+ * UTF-8 JSON encoding of a {@link ProductResponse}, tagged with the product version it was
+ * rendered from so a stale encoding is never served.
+ */
+public record ProductJson(Integer version, byte[] body) {
+}
@@ -0,0 +1,10 @@
+package com.store.dto;
+
+import java.util.List;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record ProductLookupRequest(
+    @NotEmpty(message = "At least one id is required")
+    List<@NotNull(message = "Ids must not be null") Long> ids
+) {}
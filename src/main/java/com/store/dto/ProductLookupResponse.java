@@ -0,0 +1,8 @@
+package com.store.dto;
+
+import java.util.List;
+
+public record ProductLookupResponse(
+    List<ProductResponse> products,
+    List<Long> missingIds
+) {}
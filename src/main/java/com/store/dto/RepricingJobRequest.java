@@ -0,0 +1,29 @@
+package com.store.dto;
+
+import com.store.repository.RepricingRule;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public record RepricingJobRequest(
+    @Size(min = 1, max = 80, message = "nameContains must be between 1 and 80 characters")
+    String nameContains,
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "minPrice must be 0 or higher")
+    BigDecimal minPrice,
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "maxPrice must be 0 or higher")
+    BigDecimal maxPrice,
+
+    @NotNull(message = "Operation is required (SET, ADD or PERCENT)")
+    RepricingRule.Operation operation,
+
+    @NotNull(message = "Value is required")
+    BigDecimal value
+) {
+    public RepricingRule toRule() {
+        return new RepricingRule(nameContains, minPrice, maxPrice, operation, value);
+    }
+}
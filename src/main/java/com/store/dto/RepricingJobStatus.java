@@ -0,0 +1,29 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.store.repository.RepricingRule;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RepricingJobStatus(
+    String id,
+    State state,
+    RepricingRule rule,
+    long matchingProducts,       // When the job started; concurrent writes may change what is updated
+    long updatedProducts,
+    int chunksCompleted,
+    int chunksTotal,
+    double progress,             // 0..1, share of the id range walked so far
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED          // Chunks completed before the failure stay applied
+    }
+}
@@ -0,0 +1,26 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record SliceResponse<T>(
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long totalElements
+) {
+    public static <S, T> SliceResponse<T> from(Slice<S> slice, Function<? super S, ? extends T> mapper, Long totalElements) {
+        return new SliceResponse<>(
+            slice.getContent().stream().<T>map(mapper).toList(),
+            slice.getNumber(),
+            slice.getSize(),
+            slice.hasNext(),
+            totalElements
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.store.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class RepricingJobNotFoundException extends RuntimeException {
+
+    public RepricingJobNotFoundException(String message) {
+        super(message);
+    }
+}
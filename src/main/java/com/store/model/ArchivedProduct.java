@@ -0,0 +1,74 @@
+package com.store.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A soft-deleted product moved out of {@code products} by the archiver. Rows are written with
+ * INSERT ... SELECT from {@code products} and never change afterwards; {@code updatedAt} is the
+ * deletion time, kept so delta sync can still return the tombstone.
+ */
+@Entity
+@Table(name = "products_archive", indexes = {
+    @Index(name = "idx_product_archive_updated_at", columnList = "updated_at, id")   // Delta sync (GET /api/products/changes)
+})
+public class ArchivedProduct {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    private Integer version;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    // Default constructor required by JPA
+    protected ArchivedProduct() {}
+
+    // The product as delta sync reports it: a tombstone at its deletion time
+    public Product toTombstone() {
+        return Product.archived(id, name, price, version, createdAt, updatedAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
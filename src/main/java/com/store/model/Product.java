@@ -9,13 +9,27 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "products", indexes = {@Index(name = "idx_product_id", columnList = "id")})
+// Sorted listings read in index order: ascending and descending (field, id) indexes per
+// ProductSortField, with the primary key for ascending ids. The deleted filter column comes last:
+// it matches nearly every row, and a leading column would stop H2 from using the index for ORDER BY.
+// ProductIndexPlanIntegrationTest checks the plans.
+@Table(name = "products", indexes = {
+    @Index(name = "idx_product_id_desc", columnList = "id desc, deleted"),
+    @Index(name = "idx_product_name", columnList = "name, id, deleted"),
+    @Index(name = "idx_product_name_desc", columnList = "name desc, id desc, deleted"),
+    @Index(name = "idx_product_price", columnList = "price, id, deleted"),              // Also price ranges
+    @Index(name = "idx_product_price_desc", columnList = "price desc, id desc, deleted"),
+    @Index(name = "idx_product_updated_at", columnList = "updated_at, id, deleted"),    // Also delta sync (GET /api/products/changes)
+    @Index(name = "idx_product_updated_at_desc", columnList = "updated_at desc, id desc, deleted")
+})
 @org.hibernate.annotations.Where(clause = "deleted = false")
 @EntityListeners(AuditingEntityListener.class)
 public class Product {
     
+    // Pooled sequence so Hibernate can batch inserts (IDENTITY forces one round trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -46,6 +60,18 @@ public class Product {
         this.price = price;
     }
 
+    // Detached tombstone for a product whose row was moved to products_archive
+    static Product archived(Long id, String name, BigDecimal price, Integer version,
+                            Instant createdAt, Instant updatedAt) {
+        Product product = new Product(name, price);
+        product.id = id;
+        product.version = version;
+        product.createdAt = createdAt;
+        product.updatedAt = updatedAt;
+        product.deleted = true;
+        return product;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -67,6 +93,22 @@ public class Product {
         this.price = price;
     }
 
+    // Detached copy, e.g. for read models that must not share managed instances
+    public Product copy() {
+        return withUpdatedPrice(price, version, updatedAt);
+    }
+
+    // Detached copy of this product as it stands after a price update with the given version and updatedAt
+    public Product withUpdatedPrice(BigDecimal newPrice, Integer newVersion, Instant newUpdatedAt) {
+        Product copy = new Product(name, newPrice);
+        copy.id = id;
+        copy.version = newVersion;
+        copy.createdAt = createdAt;
+        copy.updatedAt = newUpdatedAt;
+        copy.deleted = deleted;
+        return copy;
+    }
+
     public Integer getVersion() {
         return version;
     }
@@ -0,0 +1,34 @@
+package com.store.repository;
+
+import com.store.model.ArchivedProduct;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedProductRepository extends JpaRepository<ArchivedProduct, Long> {
+
+    // Copies the given soft-deleted products in one statement; live products are skipped
+    @Modifying
+    @Query(value = "INSERT INTO products_archive (id, name, price, version, created_at, updated_at, archived_at) " +
+                   "SELECT id, name, price, version, created_at, updated_at, :archivedAt FROM products " +
+                   "WHERE id IN (:ids) AND deleted = TRUE", nativeQuery = true)
+    int copyDeletedProducts(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    // Archive side of ProductRepository.findChangedAfter, served by idx_product_archive_updated_at
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM products_archive " +
+                   "WHERE updated_at >= :sinceUpdatedAt AND (updated_at > :sinceUpdatedAt OR id > :sinceId) " +
+                   "AND updated_at < :until ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<ArchivedProduct> findChangedAfter(@Param("sinceUpdatedAt") Instant sinceUpdatedAt, @Param("sinceId") long sinceId,
+                                           @Param("until") Instant until, @Param("limit") int limit);
+}
@@ -0,0 +1,10 @@
+package com.store.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a batched conditional price update: set {@code price} on product {@code id} if it is
+ * still at {@code version}.
+ */
+public record PriceChange(Long id, BigDecimal price, Integer version) {
+}
@@ -0,0 +1,15 @@
+package com.store.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Inclusive price bounds for listings; a null bound leaves that side open.
+ */
+public record PriceRange(BigDecimal min, BigDecimal max) {
+
+    public static final PriceRange ALL = new PriceRange(null, null);
+
+    public boolean isUnbounded() {
+        return min == null && max == null;
+    }
+}
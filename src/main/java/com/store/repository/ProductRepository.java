@@ -1,15 +1,83 @@
 package com.store.repository;
 
 import com.store.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    // Slice return type: Spring Data fetches size + 1 rows and skips the count query
+    @Query("SELECT p FROM Product p")
+    Slice<Product> findAllAsSlice(Pageable pageable);
+
+    // Must be consumed inside a transaction and closed; rows are read-only and fetched in chunks
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    // Compare-and-set on the version in a single statement; returns 0 if the product is missing,
+    // deleted or no longer at the expected version
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.price = :price, p.version = p.version + 1, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :id AND p.version = :version AND p.deleted = false")
+    int updatePriceIfVersion(@Param("id") Long id, @Param("price") BigDecimal price,
+                             @Param("version") Integer version, @Param("updatedAt") Instant updatedAt);
+
+    // The rows a bulk statement stamped with updatedAt, within the id range it covered
+    @Query("SELECT p FROM Product p WHERE p.id >= :fromId AND p.id < :toId AND p.updatedAt = :updatedAt")
+    List<Product> findUpdatedInRange(@Param("fromId") long fromId, @Param("toId") long toId,
+                                     @Param("updatedAt") Instant updatedAt);
+
+    // Bumps version and updatedAt so the tombstone shows up in findChangedAfter
     @Modifying
-    @Query("UPDATE Product p SET p.deleted = true WHERE p.id = :id")
-    void softDeleteById(@Param("id") Long id);
+    @Query("UPDATE Product p SET p.deleted = true, p.version = p.version + 1, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :id AND p.deleted = false")
+    void softDeleteById(@Param("id") Long id, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Products created, updated or soft-deleted after ({@code sinceUpdatedAt}, {@code sinceId}) and
+     * before {@code until}, in (updatedAt, id) order. Native so that deleted rows are included
+     * despite the entity's {@code deleted = false} filter; served by idx_product_updated_at.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM products " +
+                   "WHERE updated_at >= :sinceUpdatedAt AND (updated_at > :sinceUpdatedAt OR id > :sinceId) " +
+                   "AND updated_at < :until ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<Product> findChangedAfter(@Param("sinceUpdatedAt") Instant sinceUpdatedAt, @Param("sinceId") long sinceId,
+                                   @Param("until") Instant until, @Param("limit") int limit);
+
+    /**
+     * Products soft-deleted before {@code deletedBefore}, after ({@code afterUpdatedAt}, {@code afterId})
+     * in (updatedAt, id) order. The archiver walks idx_product_updated_at forward with this, so each
+     * run reads the old rows once however many of them are still live.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM products " +
+                   "WHERE updated_at >= :afterUpdatedAt AND (updated_at > :afterUpdatedAt OR id > :afterId) " +
+                   "AND updated_at < :deletedBefore AND deleted = TRUE ORDER BY updated_at, id LIMIT :limit", nativeQuery = true)
+    List<Product> findDeletedBefore(@Param("deletedBefore") Instant deletedBefore, @Param("afterUpdatedAt") Instant afterUpdatedAt,
+                                    @Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Second half of a move to products_archive; only ever removes soft-deleted rows
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM products WHERE id IN (:ids) AND deleted = TRUE", nativeQuery = true)
+    int deleteDeletedByIds(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
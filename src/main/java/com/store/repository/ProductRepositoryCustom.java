@@ -0,0 +1,46 @@
+package com.store.repository;
+
+import com.store.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Keyset ("seek") query: returns up to {@code limit} products ordered by (sortField, id)
+     * that come strictly after ({@code lastKey}, {@code lastId}). Pass a null {@code lastId}
+     * to start from the beginning. Only products within {@code priceRange} are considered.
+     */
+    List<Product> findNextByKeyset(ProductSortField sortField, Sort.Direction direction,
+                                   Object lastKey, Long lastId, PriceRange priceRange, int limit);
+
+    // Filtered counterparts of findAll(Pageable) and findAllAsSlice; the range is served by idx_product_price
+    Page<Product> findAllInPriceRange(PriceRange priceRange, Pageable pageable);
+
+    Slice<Product> findSliceInPriceRange(PriceRange priceRange, Pageable pageable);
+
+    long countInPriceRange(PriceRange priceRange);
+
+    /**
+     * Applies the changes as one JDBC batch of compare-and-set UPDATEs (same semantics as
+     * {@link ProductRepository#updatePriceIfVersion}), all stamped with {@code updatedAt}.
+     *
+     * @return the number of rows updated per change, in order: 1 applied, 0 missing, deleted or stale
+     */
+    int[] updatePricesIfVersion(List<PriceChange> changes, Instant updatedAt);
+
+    RepricingScope findRepricingScope(RepricingRule rule);
+
+    /**
+     * Reprices the products matching {@code rule} with ids in [{@code fromId}, {@code toId}) in
+     * one set-based UPDATE, bumping version and stamping {@code updatedAt}.
+     *
+     * @return the number of products updated
+     */
+    int reprice(RepricingRule rule, long fromId, long toId, Instant updatedAt);
+}
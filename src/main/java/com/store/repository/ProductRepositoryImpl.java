@@ -0,0 +1,213 @@
+package com.store.repository;
+
+import com.store.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findNextByKeyset(ProductSortField sortField, Sort.Direction direction,
+                                          Object lastKey, Long lastId, PriceRange priceRange, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        Path<Long> id = product.get("id");
+
+        List<Predicate> predicates = priceRangePredicates(cb, product, priceRange);
+        if (lastId != null) {
+            predicates.add(seekPredicate(cb, product, id, sortField, direction, lastKey, lastId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (sortField == ProductSortField.ID) {
+            query.orderBy(direction.isAscending() ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<?> key = product.get(sortField.getProperty());
+            query.orderBy(direction.isAscending()
+                    ? List.of(cb.asc(key), cb.asc(id))
+                    : List.of(cb.desc(key), cb.desc(id)));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<Product> findAllInPriceRange(PriceRange priceRange, Pageable pageable) {
+        List<Product> content = findInPriceRange(priceRange, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countInPriceRange(priceRange));
+    }
+
+    @Override
+    public Slice<Product> findSliceInPriceRange(PriceRange priceRange, Pageable pageable) {
+        // Fetch one extra row to learn whether another slice exists without counting
+        List<Product> rows = findInPriceRange(priceRange, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countInPriceRange(PriceRange priceRange) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product))
+                .where(priceRangePredicates(cb, product, priceRange).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int[] updatePricesIfVersion(List<PriceChange> changes, Instant updatedAt) {
+        // Pending entity changes must reach the database before the rows are changed underneath them
+        entityManager.flush();
+        int[] rows = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE products SET price = ?, version = version + 1, updated_at = ? " +
+                    "WHERE id = ? AND version = ? AND deleted = false")) {
+                Timestamp timestamp = Timestamp.from(updatedAt);
+                for (PriceChange change : changes) {
+                    statement.setBigDecimal(1, change.price());
+                    statement.setTimestamp(2, timestamp);
+                    statement.setLong(3, change.id());
+                    statement.setInt(4, change.version());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        entityManager.clear();
+        return rows;
+    }
+
+    @Override
+    public RepricingScope findRepricingScope(RepricingRule rule) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT COUNT(p), MIN(p.id), MAX(p.id), MAX(p.price) FROM Product p WHERE p.deleted = false" +
+                        repricingFilter(rule),
+                Object[].class);
+        bindRepricingFilter(query, rule);
+        Object[] row = query.getSingleResult();
+        return new RepricingScope((Long) row[0], (Long) row[1], (Long) row[2], (BigDecimal) row[3]);
+    }
+
+    @Override
+    public int reprice(RepricingRule rule, long fromId, long toId, Instant updatedAt) {
+        String newPrice = switch (rule.operation()) {
+            case SET -> ":value";
+            case ADD -> "CASE WHEN p.price + :value < 0 THEN 0 ELSE p.price + :value END";
+            case PERCENT -> "round(p.price * :factor, 2)";
+        };
+        Query update = entityManager.createQuery(
+                "UPDATE Product p SET p.price = " + newPrice + ", p.version = p.version + 1, p.updatedAt = :updatedAt " +
+                "WHERE p.deleted = false AND p.id >= :fromId AND p.id < :toId" + repricingFilter(rule));
+        if (rule.operation() == RepricingRule.Operation.PERCENT) {
+            update.setParameter("factor", rule.percentFactor());
+        } else {
+            update.setParameter("value", rule.value());
+        }
+        update.setParameter("updatedAt", updatedAt)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId);
+        bindRepricingFilter(update, rule);
+        return update.executeUpdate();
+    }
+
+    private static String repricingFilter(RepricingRule rule) {
+        StringBuilder filter = new StringBuilder();
+        if (rule.nameContains() != null) {
+            filter.append(" AND lower(p.name) LIKE :namePattern ESCAPE '\\'");
+        }
+        if (rule.minPrice() != null) {
+            filter.append(" AND p.price >= :minPrice");
+        }
+        if (rule.maxPrice() != null) {
+            filter.append(" AND p.price <= :maxPrice");
+        }
+        return filter.toString();
+    }
+
+    private static void bindRepricingFilter(Query query, RepricingRule rule) {
+        if (rule.nameContains() != null) {
+            String escaped = rule.nameContains().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            query.setParameter("namePattern", "%" + escaped + "%");
+        }
+        if (rule.minPrice() != null) {
+            query.setParameter("minPrice", rule.minPrice());
+        }
+        if (rule.maxPrice() != null) {
+            query.setParameter("maxPrice", rule.maxPrice());
+        }
+    }
+
+    private List<Product> findInPriceRange(PriceRange priceRange, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        query.where(priceRangePredicates(cb, product, priceRange).toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> priceRangePredicates(CriteriaBuilder cb, Root<Product> product, PriceRange priceRange) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        Path<BigDecimal> price = product.get("price");
+        if (priceRange.min() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(price, priceRange.min()));
+        }
+        if (priceRange.max() != null) {
+            predicates.add(cb.lessThanOrEqualTo(price, priceRange.max()));
+        }
+        return predicates;
+    }
+
+    // Expands (key, id) > (lastKey, lastId) into key > lastKey OR (key = lastKey AND id > lastId),
+    // which JPQL can express. The redundant key >= lastKey lets the (key, id) index start the scan
+    // at the cursor instead of filtering from the first row.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seekPredicate(CriteriaBuilder cb, Root<Product> product, Path<Long> id,
+                                           ProductSortField sortField, Sort.Direction direction,
+                                           Object lastKey, Long lastId) {
+        boolean ascending = direction.isAscending();
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (sortField == ProductSortField.ID) {
+            return idAfter;
+        }
+        Expression<Comparable> key = product.get(sortField.getProperty());
+        Comparable value = (Comparable) lastKey;
+        Predicate keyFrom = ascending ? cb.greaterThanOrEqualTo(key, value) : cb.lessThanOrEqualTo(key, value);
+        Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        return cb.and(keyFrom, cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter)));
+    }
+}
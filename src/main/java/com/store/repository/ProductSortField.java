@@ -0,0 +1,31 @@
+package com.store.repository;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Product attributes the listing endpoints can sort and seek on. Every field is
+ * paired with the id as a tie-breaker, so (field, id) is always a unique key.
+ */
+public enum ProductSortField {
+    ID("id"),
+    NAME("name"),
+    PRICE("price"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    ProductSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Optional<ProductSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+}
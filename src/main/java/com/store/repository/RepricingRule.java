@@ -0,0 +1,31 @@
+package com.store.repository;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Which products a bulk repricing touches and how their price changes. Filters are optional and
+ * combined with AND; with none, every non-deleted product matches. Prices are kept at two
+ * decimals and never go below zero.
+ *
+ * @param nameContains case-insensitive substring of the product name
+ * @param minPrice     inclusive lower bound on the current price
+ * @param maxPrice     inclusive upper bound on the current price
+ */
+public record RepricingRule(
+    String nameContains,
+    BigDecimal minPrice,
+    BigDecimal maxPrice,
+    Operation operation,
+    BigDecimal value
+) {
+    public enum Operation {
+        SET,        // price = value
+        ADD,        // price = price + value (value may be negative)
+        PERCENT     // price = price * (1 + value / 100), e.g. 3 for +3%
+    }
+
+    public BigDecimal percentFactor() {
+        return BigDecimal.ONE.add(value.movePointLeft(2), MathContext.DECIMAL64);
+    }
+}
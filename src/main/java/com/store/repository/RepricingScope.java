@@ -0,0 +1,11 @@
+package com.store.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Products matching a {@link RepricingRule} when a job starts: how many, the id range a
+ * chunked walk has to cover and their highest current price ({@code null} bounds when nothing
+ * matches).
+ */
+public record RepricingScope(long matching, Long minId, Long maxId, BigDecimal maxPrice) {
+}
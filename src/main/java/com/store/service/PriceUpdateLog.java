@@ -0,0 +1,155 @@
+package com.store.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file backing the write-behind price queue. Every accepted update is written as an
+ * {@code A} record before it is acknowledged, and a {@code D} record once it has been resolved
+ * (applied, rejected or superseded). After a crash, {@link #open} returns the accepted updates
+ * without a matching {@code D}, in acceptance order. The file is truncated whenever the queue
+ * drains, so it stays small.
+ *
+ * Records are single lines, {@code A|token|productId|price|version} (version {@code -} when the
+ * update is unversioned) and {@code D|token}; a torn last line is ignored on replay.
+ * Not thread-safe: callers serialize access.
+ */
+final class PriceUpdateLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceUpdateLog.class);
+
+    record Entry(String token, Long productId, BigDecimal price, Integer expectedVersion) {
+    }
+
+    private final FileChannel channel;
+    private final boolean syncOnAppend;
+
+    private PriceUpdateLog(FileChannel channel, boolean syncOnAppend) {
+        this.channel = channel;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    /**
+     * Opens (or creates) the log at {@code path} and hands the unresolved entries to
+     * {@code unresolved}; the file is then compacted down to exactly those entries.
+     */
+    static PriceUpdateLog open(Path path, boolean syncOnAppend, List<Entry> unresolved) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            unresolved.addAll(replay(path));
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            PriceUpdateLog log = new PriceUpdateLog(channel, syncOnAppend);
+            log.truncate();
+            for (Entry entry : unresolved) {
+                log.write(acceptedRecord(entry));
+            }
+            channel.force(false);
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open price update log " + path, e);
+        }
+    }
+
+    void append(Entry entry) {
+        write(acceptedRecord(entry));
+        if (syncOnAppend) {
+            sync();
+        }
+    }
+
+    void markDone(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder(tokens.size() * 40);
+        tokens.forEach(token -> records.append("D|").append(token).append('\n'));
+        write(records.toString());
+    }
+
+    void sync() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync price update log", e);
+        }
+    }
+
+    // Only valid when nothing is pending: every record in the file is resolved
+    void truncate() {
+        try {
+            channel.truncate(0);
+            channel.position(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate price update log", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Closing price update log failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(String records) {
+        ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to price update log", e);
+        }
+    }
+
+    private static String acceptedRecord(Entry entry) {
+        return "A|" + entry.token() + "|" + entry.productId() + "|" + entry.price().toPlainString() + "|"
+            + (entry.expectedVersion() == null ? "-" : entry.expectedVersion()) + "\n";
+    }
+
+    private static List<Entry> replay(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        Map<String, Entry> open = new LinkedHashMap<>();
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int complete = content.lastIndexOf('\n') + 1;   // Anything after the last newline is a torn write
+        for (String line : content.substring(0, complete).split("\n")) {
+            String[] fields = line.split("\\|");
+            try {
+                if (fields.length == 5 && fields[0].equals("A")) {
+                    Integer version = fields[4].equals("-") ? null : Integer.valueOf(fields[4]);
+                    open.put(fields[1], new Entry(fields[1], Long.valueOf(fields[2]), new BigDecimal(fields[3]), version));
+                } else if (fields.length == 2 && fields[0].equals("D")) {
+                    open.remove(fields[1]);
+                } else if (!line.isEmpty()) {
+                    logger.warn("Skipping malformed price update log record: {}", line);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping malformed price update log record: {}", line);
+            }
+        }
+        return new ArrayList<>(open.values());
+    }
+}
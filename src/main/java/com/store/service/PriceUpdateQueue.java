@@ -0,0 +1,380 @@
+package com.store.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.store.config.CacheConfig;
+import com.store.dto.PriceUpdateStatus;
+import com.store.exception.ProductNotFoundException;
+import com.store.exception.ProductVersionMismatchException;
+import com.store.exception.ServiceBusyException;
+import com.store.model.Product;
+import com.store.repository.PriceChange;
+import com.store.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind path for price updates ({@code store.price-updates.write-behind.enabled}).
+ *
+ * Accepted updates are appended to a local {@link PriceUpdateLog} and queued by product id, so a
+ * later update of the same product replaces the queued one. A single writer thread drains the
+ * queue every {@code flush-interval}, or as soon as {@code flush-size} products are waiting, and
+ * writes the whole drain as one transaction holding one JDBC batch of compare-and-set UPDATEs.
+ * Written products are evicted from the product caches, so the next read loads the current
+ * version; the read engine and ETags see the new versions exactly as after a synchronous update.
+ * Callers follow the outcome through the token returned by {@link #submit}.
+ */
+@Service
+public class PriceUpdateQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceUpdateQueue.class);
+
+    private record Pending(String token, Long productId, BigDecimal price, Integer expectedVersion) {
+    }
+
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Path logPath;
+    private final boolean syncOnAppend;
+    private final Duration flushInterval;
+    private final int flushSize;
+    private final int maxPending;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, PriceUpdateStatus> statuses;
+    private final Object lock = new Object();
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();   // guarded by lock
+    private final List<String> superseded = new ArrayList<>();                    // guarded by lock
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();   // One flush at a time, stop()'s included
+    private PriceUpdateLog log;                                                   // guarded by lock
+    private ScheduledExecutorService writer;
+    private boolean stopped;                                                      // guarded by lock
+
+    public PriceUpdateQueue(ProductService productService, ProductRepository productRepository,
+                            CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${store.price-updates.write-behind.enabled:false}") boolean enabled,
+                            @Value("${store.price-updates.write-behind.log-path:data/price-updates.log}") Path logPath,
+                            @Value("${store.price-updates.write-behind.sync-on-append:false}") boolean syncOnAppend,
+                            @Value("${store.price-updates.write-behind.flush-interval:50ms}") Duration flushInterval,
+                            @Value("${store.price-updates.write-behind.flush-size:500}") int flushSize,
+                            @Value("${store.price-updates.write-behind.max-pending:10000}") int maxPending,
+                            @Value("${store.price-updates.write-behind.status-retention:1h}") Duration statusRetention) {
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.logPath = logPath;
+        this.syncOnAppend = syncOnAppend;
+        this.flushInterval = flushInterval;
+        this.flushSize = flushSize;
+        this.maxPending = maxPending;
+        this.statuses = Caffeine.newBuilder()
+            .maximumSize(Math.max(100_000, maxPending * 10L))
+            .expireAfterWrite(statusRetention)
+            .build();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        List<PriceUpdateLog.Entry> unresolved = new ArrayList<>();
+        synchronized (lock) {
+            log = PriceUpdateLog.open(logPath, syncOnAppend, unresolved);
+            unresolved.forEach(entry -> enqueue(new Pending(entry.token(), entry.productId(), entry.price(), entry.expectedVersion())));
+        }
+        if (!unresolved.isEmpty()) {
+            logger.warn("Recovered {} unwritten price updates from {}", unresolved.size(), logPath);
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-update-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Recovered updates are only written once startup (schema, seed data) is complete
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleFlushes() {
+        if (writer == null) {
+            return;
+        }
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        writer.scheduleWithFixedDelay(this::flushQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind price updates enabled: flush every {} ms or {} products, log {}",
+            intervalMillis, flushSize, logPath);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer == null) {
+            return;
+        }
+        synchronized (lock) {
+            stopped = true;   // Later submits get a 503; everything queued before is flushed below
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write what is still queued before closing the log. flushLock makes this wait for a flush that
+        // outlived awaitTermination instead of running alongside it.
+        flushQuietly();
+        synchronized (lock) {
+            log.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a price update and returns its (pending) status. The product must exist now; whether
+     * the expected version still matches is only known once the update is written.
+     *
+     * @throws ProductNotFoundException if the product does not exist or is deleted
+     * @throws ServiceBusyException if {@code max-pending} products are already waiting or the
+     *         application is shutting down
+     */
+    public PriceUpdateStatus submit(Long productId, BigDecimal price, Integer expectedVersion) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind price updates are disabled");
+        }
+        productService.getProductById(productId);
+        Pending update = new Pending(UUID.randomUUID().toString(), productId, price, expectedVersion);
+        PriceUpdateStatus status = PriceUpdateStatus.pending(update.token(), productId, price);
+        int waiting;
+        synchronized (lock) {
+            if (stopped) {
+                throw new ServiceBusyException("Price updates are no longer accepted, the application is shutting down", null);
+            }
+            if (pending.size() >= maxPending && !pending.containsKey(productId)) {
+                throw new ServiceBusyException("Too many price updates waiting to be written", null);
+            }
+            log.append(new PriceUpdateLog.Entry(update.token(), productId, price, expectedVersion));
+            statuses.put(update.token(), status);
+            enqueue(update);
+            waiting = pending.size();
+        }
+        if (waiting >= flushSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Stopping: the update was queued before stop(), whose final flush writes it
+                flushRequested.set(false);
+            }
+        }
+        return status;
+    }
+
+    public Optional<PriceUpdateStatus> getStatus(String token) {
+        return Optional.ofNullable(statuses.getIfPresent(token));
+    }
+
+    // Caller holds lock
+    private void enqueue(Pending update) {
+        statuses.asMap().putIfAbsent(update.token(), PriceUpdateStatus.pending(update.token(), update.productId(), update.price()));
+        Pending replaced = pending.remove(update.productId());
+        pending.put(update.productId(), update);   // Re-inserted at the end: flush order follows the latest update
+        if (replaced != null) {
+            superseded.add(replaced.token());
+            statuses.asMap().computeIfPresent(replaced.token(), (token, status) ->
+                status.resolved(PriceUpdateStatus.State.SUPERSEDED, "Superseded by " + update.token()));
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Price update flush failed", e);
+        }
+    }
+
+    /**
+     * Writes everything queued so far. Updates without an expected version are written against
+     * the version last seen (cache or database); the few whose product moved on in between are
+     * retried through {@link ProductService#updatePrice}, which re-reads the current version.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Caller holds flushLock
+    private void drainAndWrite() {
+        List<Pending> batch;
+        List<String> done = new ArrayList<>();
+        synchronized (lock) {
+            if (pending.isEmpty() && superseded.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            done.addAll(superseded);
+            superseded.clear();
+        }
+        long started = System.nanoTime();
+        Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<Product> applied = new ArrayList<>(batch.size());
+        List<Pending> retries = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> writeBatch(batch, updatedAt, applied, retries));
+        } catch (RuntimeException e) {
+            logger.error("Writing {} price updates failed, reporting them as failed", batch.size(), e);
+            batch.forEach(update -> resolve(update, PriceUpdateStatus.State.FAILED, e.getMessage()));
+            applied.clear();
+            retries.clear();
+        }
+
+        // Evicted rather than refreshed: a synchronous update may have committed and cached a newer
+        // version since this batch did, and putting the batch's copy would overwrite it
+        Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        Cache jsonCache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+        for (Product product : applied) {
+            if (productsCache != null) {
+                productsCache.evict(product.getId());
+            }
+            if (jsonCache != null) {
+                jsonCache.evict(product.getId());
+            }
+        }
+        for (Pending update : retries) {
+            try {
+                Product product = productService.updatePrice(update.productId(), update.price(), null);
+                statuses.asMap().computeIfPresent(update.token(), (token, status) -> status.applied(product.getVersion()));
+            } catch (ProductNotFoundException e) {
+                resolve(update, PriceUpdateStatus.State.NOT_FOUND, e.getMessage());
+            } catch (ProductVersionMismatchException e) {
+                resolve(update, PriceUpdateStatus.State.CONFLICT, e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Retrying price update {} for product {} failed", update.token(), update.productId(), e);
+                resolve(update, PriceUpdateStatus.State.FAILED, e.getMessage());
+            }
+        }
+
+        batch.forEach(update -> done.add(update.token()));
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                log.truncate();   // Every record in the log is resolved now
+            } else {
+                log.markDone(done);
+            }
+            log.sync();
+        }
+        logger.debug("Flushed {} price updates ({} applied in one batch, {} retried) in {} ms",
+            batch.size(), applied.size(), retries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void writeBatch(List<Pending> batch, Instant updatedAt, List<Product> applied, List<Pending> retries) {
+        Map<Long, Product> current = currentProducts(batch);
+        List<Pending> written = new ArrayList<>(batch.size());
+        List<PriceChange> changes = new ArrayList<>(batch.size());
+        for (Pending update : batch) {
+            Product product = current.get(update.productId());
+            if (product == null) {
+                resolve(update, PriceUpdateStatus.State.NOT_FOUND, "Product not found with id: " + update.productId());
+                continue;
+            }
+            Integer version = update.expectedVersion() != null ? update.expectedVersion() : product.getVersion();
+            written.add(update);
+            changes.add(new PriceChange(update.productId(), update.price(), version));
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        int[] rows = productRepository.updatePricesIfVersion(changes, updatedAt);
+        for (int i = 0; i < written.size(); i++) {
+            Pending update = written.get(i);
+            PriceChange change = changes.get(i);
+            if (rows[i] == 1) {
+                Product updated = current.get(update.productId())
+                    .withUpdatedPrice(change.price(), change.version() + 1, updatedAt);
+                eventPublisher.publishEvent(ProductChangeEvent.priceChanged(updated));
+                statuses.asMap().computeIfPresent(update.token(), (token, status) -> status.applied(updated.getVersion()));
+                applied.add(updated);
+            } else if (update.expectedVersion() != null) {
+                resolve(update, PriceUpdateStatus.State.CONFLICT, String.format(
+                    "Version %d of product with id=%d is outdated", update.expectedVersion(), update.productId()));
+            } else {
+                retries.add(update);
+            }
+        }
+    }
+
+    // Cached products where available, the rest with one IN query
+    private Map<Long, Product> currentProducts(List<Pending> batch) {
+        Map<Long, Product> current = new HashMap<>(batch.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        for (Pending update : batch) {
+            Object cached = cache instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache().getIfPresent(update.productId())
+                : null;
+            if (cached instanceof Product product) {
+                current.put(product.getId(), product);
+            } else {
+                misses.add(update.productId());
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                if (!product.isDeleted()) {
+                    current.put(product.getId(), product.copy());
+                }
+            }
+        }
+        return current;
+    }
+
+    private void resolve(Pending update, PriceUpdateStatus.State state, String detail) {
+        statuses.asMap().computeIfPresent(update.token(), (token, status) -> status.resolved(state, detail));
+    }
+}
@@ -0,0 +1,194 @@
+package com.store.service;
+
+import com.store.dto.ArchiveRunStatus;
+import com.store.exception.ProductNotFoundException;
+import com.store.model.ArchivedProduct;
+import com.store.model.Product;
+import com.store.repository.ArchivedProductRepository;
+import com.store.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves soft-deleted products out of the hot {@code products} table into {@code products_archive}
+ * once they have been deleted for {@code store.archive.retention}. A run walks the old rows in
+ * (updatedAt, id) order in batches of {@code batch-size}; each batch is one transaction holding
+ * one INSERT ... SELECT and one DELETE, followed by a {@code batch-pause} so the job never holds
+ * the table or the connection pool for long. Delta sync keeps returning archived tombstones.
+ */
+@Service
+public class ProductArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductArchiver.class);
+    private static final int RECENT_RUNS = 20;
+
+    private record Batch(int moved, Instant lastUpdatedAt, long lastId, boolean last) {
+    }
+
+    private final ProductRepository productRepository;
+    private final ArchivedProductRepository archivedProductRepository;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration initialDelay;
+    private final Duration interval;
+
+    private final Deque<ArchiveRunStatus> recentRuns = new ArrayDeque<>(RECENT_RUNS);   // guarded by itself, newest first
+    private final AtomicLong rowsMoved = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public ProductArchiver(ProductRepository productRepository, ArchivedProductRepository archivedProductRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${store.archive.enabled:true}") boolean enabled,
+                           @Value("${store.archive.retention:30d}") Duration retention,
+                           @Value("${store.archive.batch-size:500}") int batchSize,
+                           @Value("${store.archive.batch-pause:200ms}") Duration batchPause,
+                           @Value("${store.archive.initial-delay:1m}") Duration initialDelay,
+                           @Value("${store.archive.interval:1h}") Duration interval) {
+        this.productRepository = productRepository;
+        this.archivedProductRepository = archivedProductRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.initialDelay = initialDelay;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleRuns() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archive, initialDelay.toMillis(), Math.max(1, interval.toMillis()),
+            TimeUnit.MILLISECONDS);
+        logger.info("Product archiving enabled: products deleted over {} ago, every {}, {} rows per batch",
+            retention, interval, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @throws ProductNotFoundException if no archived product has this id
+     */
+    public ArchivedProduct getArchivedProduct(Long id) {
+        return archivedProductRepository.findById(id)
+            .orElseThrow(() -> new ProductNotFoundException("Archived product not found with id: " + id));
+    }
+
+    public List<ArchiveRunStatus> getRecentRuns() {
+        synchronized (recentRuns) {
+            return new ArrayList<>(recentRuns);
+        }
+    }
+
+    public long getRowsMoved() {
+        return rowsMoved.get();
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    /**
+     * Archives every product deleted before now minus the retention. Runs on the archiver thread;
+     * failures end the run and are reported in its status, the next run picks up where it stopped.
+     */
+    ArchiveRunStatus archive() {
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        Instant deletedBefore = startedAt.minus(retention);
+        long moved = 0;
+        int batches = 0;
+        String error = null;
+        try {
+            Instant afterUpdatedAt = Instant.EPOCH;
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                Batch batch = moveBatch(deletedBefore, afterUpdatedAt, afterId);
+                moved += batch.moved();
+                rowsMoved.addAndGet(batch.moved());
+                if (batch.moved() > 0) {
+                    batches++;
+                }
+                if (batch.last()) {
+                    break;
+                }
+                afterUpdatedAt = batch.lastUpdatedAt();
+                afterId = batch.lastId();
+                Thread.sleep(batchPause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        } catch (RuntimeException e) {
+            logger.error("Product archiving failed after {} batches", batches, e);
+            error = e.getMessage();
+        }
+        ArchiveRunStatus status = new ArchiveRunStatus(startedAt, Instant.now(), deletedBefore, moved, batches,
+            (System.nanoTime() - started) / 1_000_000, error);
+        runs.incrementAndGet();
+        synchronized (recentRuns) {
+            if (recentRuns.size() == RECENT_RUNS) {
+                recentRuns.removeLast();
+            }
+            recentRuns.addFirst(status);
+        }
+        logger.info("Product archiving moved {} rows deleted before {} in {} batches, {} ms",
+            moved, deletedBefore, batches, status.durationMillis());
+        return status;
+    }
+
+    private Batch moveBatch(Instant deletedBefore, Instant afterUpdatedAt, long afterId) {
+        return transaction.execute(status -> {
+            List<Product> rows = productRepository.findDeletedBefore(deletedBefore, afterUpdatedAt, afterId, batchSize);
+            if (rows.isEmpty()) {
+                return new Batch(0, afterUpdatedAt, afterId, true);
+            }
+            List<Long> ids = rows.stream().map(Product::getId).toList();
+            Instant archivedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            int copied = archivedProductRepository.copyDeletedProducts(ids, archivedAt);
+            int deleted = productRepository.deleteDeletedByIds(ids);
+            if (copied != deleted) {
+                // Rolls the batch back rather than lose or duplicate a row
+                throw new IllegalStateException(String.format(
+                    "Archived %d products but removed %d from products", copied, deleted));
+            }
+            Product last = rows.get(rows.size() - 1);
+            return new Batch(deleted, last.getUpdatedAt(), last.getId(), rows.size() < batchSize);
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.store.service;
+
+import com.store.model.Product;
+
+/**
+ * Published for every product write ({@link ProductService}, and the bulk writers
+ * {@link PriceUpdateQueue} and {@link RepricingJobService}). Listeners that maintain derived
+ * state (counts, indexes, feeds) should use {@code @TransactionalEventListener} so they only see
+ * committed changes.
+ */
+public record ProductChangeEvent(Type type, Product product) {
+
+    public enum Type {
+        CREATED,
+        PRICE_CHANGED,
+        DELETED
+    }
+
+    public static ProductChangeEvent created(Product product) {
+        return new ProductChangeEvent(Type.CREATED, product);
+    }
+
+    public static ProductChangeEvent priceChanged(Product product) {
+        return new ProductChangeEvent(Type.PRICE_CHANGED, product);
+    }
+
+    public static ProductChangeEvent deleted(Product product) {
+        return new ProductChangeEvent(Type.DELETED, product);
+    }
+}
@@ -0,0 +1,284 @@
+package com.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.store.dto.ProductResponse;
+import com.store.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed product changes to Server-Sent Events subscribers ({@code GET /api/products/stream}).
+ *
+ * Every committed {@link ProductChangeEvent} is serialized once, numbered and kept in a ring of the
+ * last {@code store.change-feed.replay-size} events, so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed. Event ids are {@code <stream>-<sequence>}; an id
+ * from another process (restart) or one that fell out of the ring gets a {@code reset} event
+ * instead, telling the client to re-read the catalog. Ids follow commit order; the product
+ * {@code version} in each event orders changes of the same product.
+ *
+ * Each subscriber has its own queue of at most {@code subscriber-buffer} events, written by a
+ * small sender pool so a slow client never holds up a commit or other clients. A subscriber whose
+ * queue overflows is disconnected; it reconnects with its last id and catches up from the ring.
+ */
+@Service
+public class ProductChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeFeed.class);
+
+    record FeedEvent(String id, String name, String data) {
+    }
+
+    // Sent as SSE comments: the first carries the client's reconnect delay
+    private static final FeedEvent CONNECTED = new FeedEvent(null, null, null);
+    private static final FeedEvent HEARTBEAT = new FeedEvent(null, null, null);
+
+    private final ObjectWriter productWriter;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long retryMillis;
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Object lock = new Object();
+    private final ArrayDeque<FeedEvent> recent;   // guarded by lock
+    private long sequence;                         // guarded by lock
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+    private final ScheduledThreadPoolExecutor senders;
+
+    public ProductChangeFeed(ObjectMapper objectMapper,
+                             @Value("${store.change-feed.replay-size:10000}") int replaySize,
+                             @Value("${store.change-feed.subscriber-buffer:1000}") int subscriberBuffer,
+                             @Value("${store.change-feed.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${store.change-feed.sender-threads:4}") int senderThreads,
+                             @Value("${store.change-feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${store.change-feed.timeout:30m}") Duration timeout,
+                             @Value("${store.change-feed.retry:3s}") Duration retry) {
+        this.productWriter = objectMapper.writerFor(ProductResponse.class);
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.retryMillis = retry.toMillis();
+        this.recent = new ArrayDeque<>(replaySize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ScheduledThreadPoolExecutor(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        senders.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getOverflowDisconnects() {
+        return overflowDisconnects.get();
+    }
+
+    /**
+     * Opens a subscription. With a {@code lastEventId}, the events after it are replayed first (or
+     * a {@code reset} event is sent if they are no longer available).
+     *
+     * @throws ServiceBusyException if {@code max-subscribers} clients are already connected
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Too many change feed subscribers", null);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+
+        List<FeedEvent> backlog;
+        synchronized (lock) {
+            backlog = lastEventId == null ? List.of() : eventsAfter(lastEventId);
+            subscriber.preload(backlog);
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        logger.debug("Change feed subscriber added (Last-Event-ID {}, {} events replayed)", lastEventId, backlog.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        String data;
+        try {
+            data = productWriter.writeValueAsString(ProductResponse.from(event.product()));
+        } catch (JsonProcessingException e) {
+            logger.error("Cannot serialize change of product {}", event.product().getId(), e);
+            return;
+        }
+        String name = event.type().name().toLowerCase(Locale.ROOT).replace('_', '-');
+        synchronized (lock) {
+            FeedEvent feedEvent = new FeedEvent(streamId + "-" + (++sequence), name, data);
+            if (recent.size() == replaySize) {
+                recent.removeFirst();
+            }
+            recent.addLast(feedEvent);
+            // Offered under the lock, so every queue receives events in id order
+            subscribers.forEach(subscriber -> subscriber.offer(feedEvent));
+        }
+    }
+
+    // Caller holds lock
+    private List<FeedEvent> eventsAfter(String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        long oldestAvailable = recent.isEmpty() ? sequence + 1 : sequence - recent.size() + 1;
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < oldestAvailable) {
+            return List.of(new FeedEvent(streamId + "-" + sequence, "reset", "{}"));
+        }
+        List<FeedEvent> missed = new ArrayList<>((int) (sequence - lastSequence));
+        recent.stream().skip(lastSequence + 1 - oldestAvailable).forEach(missed::add);
+        return missed;
+    }
+
+    // -1 when the id is malformed or from another stream
+    private long parseSequence(String eventId) {
+        String prefix = streamId + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscriber.close();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<FeedEvent> queue = new ArrayDeque<>();   // guarded by this
+        private boolean sending;                                          // guarded by this
+        private boolean overflowed;                                       // guarded by this
+        private boolean closed;                                           // guarded by this
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // The replay may exceed the buffer: it is bounded by the ring instead
+        synchronized void preload(List<FeedEvent> backlog) {
+            queue.addLast(CONNECTED);
+            queue.addAll(backlog);
+        }
+
+        void offer(FeedEvent event) {
+            synchronized (this) {
+                if (closed || overflowed) {
+                    return;
+                }
+                if (event == HEARTBEAT && !queue.isEmpty()) {
+                    return;   // Pending events prove the connection just as well
+                }
+                if (queue.size() >= subscriberBuffer) {
+                    overflowed = true;
+                    queue.clear();
+                } else {
+                    queue.addLast(event);
+                }
+            }
+            schedule();
+        }
+
+        void schedule() {
+            synchronized (this) {
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        // At most one drain per subscriber runs at a time
+        private void drain() {
+            while (true) {
+                FeedEvent event;
+                synchronized (this) {
+                    event = closed || overflowed ? null : queue.pollFirst();
+                    if (event == null) {
+                        sending = false;
+                        if (!overflowed || closed) {
+                            return;
+                        }
+                        break;
+                    }
+                }
+                try {
+                    send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone or emitter already completed
+                    logger.debug("Change feed subscriber dropped: {}", e.getMessage());
+                    remove(this);
+                    return;
+                }
+            }
+            overflowDisconnects.incrementAndGet();
+            logger.warn("Change feed subscriber fell more than {} events behind, disconnecting it", subscriberBuffer);
+            remove(this);
+            emitter.complete();
+        }
+
+        private void send(FeedEvent event) throws IOException {
+            if (event == CONNECTED) {
+                emitter.send(SseEmitter.event().reconnectTime(retryMillis).comment("connected"));
+            } else if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(""));
+            } else {
+                emitter.send(SseEmitter.event().id(event.id()).name(event.name()).data(event.data()));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.store.service;
+
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for delta sync: the (updatedAt, id) of the last change returned.
+ */
+public record ProductChangeToken(Instant updatedAt, long id) {
+
+    public static final ProductChangeToken START = new ProductChangeToken(Instant.EPOCH, 0);
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductChangeToken after(Product product) {
+        return new ProductChangeToken(product.getUpdatedAt(), product.getId());
+    }
+
+    public String encode() {
+        String raw = updatedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 2);
+            return new ProductChangeToken(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid change token: " + token);
+        }
+    }
+}
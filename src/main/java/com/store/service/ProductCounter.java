@@ -0,0 +1,66 @@
+package com.store.service;
+
+import com.store.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incrementally maintained number of non-deleted products, so listings can report a total
+ * without running count(*) per request. Adjusted after each committed create/delete and
+ * re-counted from the database at most once per refresh interval to bound any drift.
+ */
+@Component
+public class ProductCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCounter.class);
+
+    private final ProductRepository productRepository;
+    private final long refreshIntervalNanos;
+    private final AtomicLong total = new AtomicLong();
+    // Not synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier
+    private final ReentrantLock recountLock = new ReentrantLock();
+    private volatile long lastRecountNanos;
+    private volatile boolean initialized;
+
+    public ProductCounter(ProductRepository productRepository,
+                          @Value("${store.products.count-refresh-interval:5m}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public long get() {
+        if (!initialized || System.nanoTime() - lastRecountNanos > refreshIntervalNanos) {
+            recount();
+        }
+        return total.get();
+    }
+
+    public void recount() {
+        recountLock.lock();
+        try {
+            long count = productRepository.count();
+            total.set(count);
+            lastRecountNanos = System.nanoTime();
+            initialized = true;
+            logger.debug("Product count recounted: {}", count);
+        } finally {
+            recountLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        switch (event.type()) {
+            case CREATED -> total.incrementAndGet();
+            case DELETED -> total.decrementAndGet();
+            default -> { }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.store.service;
+
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import com.store.repository.ProductSortField;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. Encodes the sort it was issued for
+ * together with the sort key and id of the last row returned.
+ */
+public record ProductCursor(ProductSortField sortField, Sort.Direction direction, Object lastKey, long lastId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor after(Product product, ProductSortField sortField, Sort.Direction direction) {
+        Object key = switch (sortField) {
+            case ID -> product.getId();
+            case NAME -> product.getName();
+            case PRICE -> product.getPrice();
+            case UPDATED_AT -> product.getUpdatedAt();
+        };
+        return new ProductCursor(sortField, direction, key, product.getId());
+    }
+
+    public String encode() {
+        String key = switch (sortField) {
+            case ID -> "";
+            case PRICE -> ((BigDecimal) lastKey).toPlainString();
+            default -> lastKey.toString();
+        };
+        // The key goes last so that names containing the separator survive the round trip
+        String raw = String.join(SEPARATOR, sortField.name(), direction.name(), Long.toString(lastId), key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            ProductSortField sortField = ProductSortField.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            long lastId = Long.parseLong(parts[2]);
+            Object key = switch (sortField) {
+                case ID -> lastId;
+                case NAME -> parts[3];
+                case PRICE -> new BigDecimal(parts[3]);
+                case UPDATED_AT -> Instant.parse(parts[3]);
+            };
+            return new ProductCursor(sortField, direction, key, lastId);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
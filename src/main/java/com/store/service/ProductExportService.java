@@ -0,0 +1,128 @@
+package com.store.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.store.dto.ProductResponse;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full catalog straight from a database cursor to an output stream. Each row is
+ * detached as soon as it is written, so memory use does not depend on the catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter productWriter;
+
+    public ProductExportService(ProductRepository productRepository, EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        // Let the generator buffer decide when to hit the socket instead of flushing every row;
+        // lines are separated explicitly, so drop Jackson's default space between root values
+        this.productWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        logger.debug("Exporting catalog as {}", format);
+        long started = System.nanoTime();
+        long rows;
+        try (Stream<Product> products = productRepository.streamAll()) {
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(products, out);
+                case CSV -> writeCsv(products, out);
+            };
+        }
+        logger.info("Exported {} products as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeNdjson(Stream<Product> products, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = productWriter.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Product product : (Iterable<Product>) products::iterator) {
+                productWriter.writeValue(generator, ProductResponse.from(product));
+                generator.writeRaw('\n');
+                entityManager.detach(product);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Stream<Product> products, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,name,price,version,createdAt,updatedAt\n");
+        for (Product product : (Iterable<Product>) products::iterator) {
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writer.write(csvField(product.getName()));
+            writer.write(',');
+            writer.write(product.getPrice().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(product.getVersion()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getCreatedAt()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getUpdatedAt()));
+            writer.write('\n');
+            entityManager.detach(product);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
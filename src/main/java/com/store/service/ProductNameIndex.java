@@ -0,0 +1,263 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Trigram index over product names for prefix and substring search.
+ *
+ * Names are normalized (lower case, anything but letters and digits turned into single spaces) and
+ * padded with a space on both sides. Every product gets a dense ordinal, and every trigram of its
+ * padded name, plus a space-and-first-letter key per word, maps to a sorted posting list of
+ * ordinals. Queries of three or more characters intersect the postings of their trigrams and match
+ * anywhere in the name; shorter queries match the start of a word. Candidates are verified against
+ * the name, so trigram collisions never leak into results.
+ *
+ * Ordinals only ever grow, which keeps posting lists sorted on append; removed products leave a
+ * gap that is skipped at query time until enough gaps pile up to rebuild the postings.
+ * Not thread-safe: callers serialize writes and exclude them from reads.
+ */
+final class ProductNameIndex {
+
+    record Matches(List<CompactProduct> products, int total) {
+    }
+
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    // Best first: exact name, then name prefix, then word prefix, then any substring
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+        .thenComparingInt(hit -> hit.product().name().length())
+        .thenComparing(hit -> hit.product().name(), String.CASE_INSENSITIVE_ORDER)
+        .thenComparingLong(hit -> hit.product().id());
+
+    private record Hit(CompactProduct product, int score) {
+    }
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private CompactProduct[] products = new CompactProduct[1024];   // by ordinal, null once removed
+    private String[] names = new String[1024];                      // padded normalized names, by ordinal
+    private int nextOrdinal;
+
+    int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Adds or replaces a product. Replacing one whose name is unchanged (e.g. a price change) only
+     * swaps the stored product; an older version never replaces a newer one.
+     */
+    void put(CompactProduct product) {
+        String name = pad(normalize(product.name()));
+        Integer ordinal = ordinals.get(product.id());
+        if (ordinal != null) {
+            if (products[ordinal].version() > product.version()) {
+                return;
+            }
+            if (names[ordinal].equals(name)) {
+                products[ordinal] = product;
+                return;
+            }
+            remove(product.id());
+        }
+        add(product, name);
+    }
+
+    void remove(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        products[ordinal] = null;
+        names[ordinal] = null;
+        if (nextOrdinal - ordinals.size() > Math.max(1024, ordinals.size())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Ranked matches at positions [offset, offset + limit), with the total number of matches.
+     * Only the best {@code offset + limit} matches are kept while scanning.
+     */
+    Matches search(String query, int offset, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return new Matches(List.of(), 0);
+        }
+        boolean substring = normalized.length() >= MIN_SUBSTRING_LENGTH;
+        String wordStart = " " + normalized;
+        String needle = substring ? normalized : wordStart;
+        List<IntList> lists = new ArrayList<>();
+        for (long key : substring ? keys(normalized, false) : Set.of(key(needle, 0, needle.length()))) {
+            IntList list = postings.get(key);
+            if (list == null) {
+                return new Matches(List.of(), 0);
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        int window = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.max(1, window), RANKING.reversed());
+        int total = 0;
+        IntList smallest = lists.get(0);
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            int ordinal = smallest.get(i);
+            String name = names[ordinal];
+            if (name == null) {
+                continue;
+            }
+            for (int l = 1; l < lists.size(); l++) {
+                if (!lists.get(l).contains(ordinal)) {
+                    continue candidates;
+                }
+            }
+            if (!name.contains(needle)) {
+                continue;
+            }
+            total++;
+            Hit hit = new Hit(products[ordinal], score(name, normalized, wordStart));
+            if (best.size() < window) {
+                best.add(hit);
+            } else if (window > 0 && RANKING.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        Hit[] ranked = best.toArray(new Hit[0]);
+        Arrays.sort(ranked, RANKING);
+        List<CompactProduct> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+        for (int i = offset; i < ranked.length; i++) {
+            page.add(ranked[i].product());
+        }
+        return new Matches(page, total);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;   // Drops leading and repeated separators
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private void add(CompactProduct product, String name) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == products.length) {
+            products = Arrays.copyOf(products, ordinal * 2);
+            names = Arrays.copyOf(names, ordinal * 2);
+        }
+        products[ordinal] = product;
+        names[ordinal] = name;
+        ordinals.put(product.id(), ordinal);
+        for (long key : keys(name, true)) {
+            postings.computeIfAbsent(key, k -> new IntList()).add(ordinal);
+        }
+    }
+
+    // Renumbers the remaining products densely, in their current order
+    private void rebuild() {
+        CompactProduct[] oldProducts = products;
+        String[] oldNames = names;
+        int oldCount = nextOrdinal;
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, ordinals.size())) << 1);
+        products = new CompactProduct[capacity];
+        names = new String[capacity];
+        nextOrdinal = 0;
+        ordinals.clear();
+        postings.clear();
+        for (int i = 0; i < oldCount; i++) {
+            if (oldProducts[i] != null) {
+                add(oldProducts[i], oldNames[i]);
+            }
+        }
+    }
+
+    private static String pad(String normalized) {
+        return " " + normalized + " ";
+    }
+
+    // Distinct trigrams of text; with wordStarts, also a (space, first letter) key per word
+    private static Set<Long> keys(String text, boolean wordStarts) {
+        Set<Long> keys = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_SUBSTRING_LENGTH <= text.length(); i++) {
+            keys.add(key(text, i, i + MIN_SUBSTRING_LENGTH));
+        }
+        if (wordStarts) {
+            for (int i = 0; i + 1 < text.length(); i++) {
+                if (text.charAt(i) == ' ' && text.charAt(i + 1) != ' ') {
+                    keys.add(key(text, i, i + 2));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Up to three UTF-16 units and their count packed into one long
+    private static long key(String text, int from, int to) {
+        long key = to - from;
+        for (int i = from; i < to; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    private static int score(String paddedName, String query, String wordStart) {
+        if (paddedName.length() == query.length() + 2) {
+            return 0;   // Verified to contain the query, so equal
+        }
+        if (paddedName.startsWith(query, 1)) {
+            return 1;
+        }
+        return paddedName.contains(wordStart) ? 2 : 3;
+    }
+
+    // Growable sorted int array; ordinals are appended in increasing order
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
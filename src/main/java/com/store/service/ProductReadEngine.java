@@ -0,0 +1,180 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+import com.store.model.Product;
+import com.store.repository.PriceRange;
+import com.store.repository.ProductRepository;
+import com.store.repository.ProductSortField;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Optional read engine ({@code store.read-engine.snapshot.enabled}) that answers get-by-id and
+ * page listings from an immutable {@link ProductSnapshot} instead of the database.
+ *
+ * The snapshot is loaded once the application is ready; until then, and for anything it cannot
+ * answer (unknown ids, unsupported sorts), callers fall back to {@link ProductService}. Writes
+ * reach it through {@link ProductChangeEvent}s: the events of one transaction are collected and
+ * applied as a single copy-on-write delta after commit, then published by a volatile swap.
+ */
+@Service
+public class ProductReadEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductReadEngine.class);
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private volatile ProductSnapshot snapshot;          // null until loaded
+    private final Object writeLock = new Object();     // Held only for in-memory work, never across I/O
+    private List<ProductChangeEvent> changesDuringLoad; // guarded by writeLock
+
+    public ProductReadEngine(ProductRepository productRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${store.read-engine.snapshot.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isServing() {
+        return snapshot != null;
+    }
+
+    public Optional<CompactProduct> findById(Long id) {
+        ProductSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.get(id));
+    }
+
+    public Optional<Page<CompactProduct>> findPage(Pageable pageable) {
+        return findPage(pageable, PriceRange.ALL);
+    }
+
+    /**
+     * @return the page of products within {@code priceRange}, or empty if the engine is not
+     *         serving or cannot order by the requested sort
+     */
+    public Optional<Page<CompactProduct>> findPage(Pageable pageable, PriceRange priceRange) {
+        ProductSnapshot current = snapshot;
+        if (current == null || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        ProductSortField field = ProductSortField.ID;
+        Sort.Direction direction = Sort.Direction.ASC;
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return Optional.empty();
+        }
+        if (orders.size() == 1) {
+            Sort.Order order = orders.get(0);
+            Optional<ProductSortField> sortField = ProductSortField.fromProperty(order.getProperty());
+            if (sortField.isEmpty() || order.isIgnoreCase()) {
+                return Optional.empty();
+            }
+            field = sortField.get();
+            direction = order.getDirection();
+        }
+        List<CompactProduct> content = current.page(field, direction, priceRange, pageable.getOffset(), pageable.getPageSize());
+        return Optional.of(new PageImpl<>(content, pageable, current.count(priceRange)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        synchronized (writeLock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        List<CompactProduct> products = readOnlyTransaction.execute(status -> {
+            try (Stream<Product> rows = productRepository.streamAll()) {
+                return rows.map(product -> {
+                    CompactProduct compact = CompactProduct.from(product);
+                    entityManager.detach(product);
+                    return compact;
+                }).toList();
+            }
+        });
+        synchronized (writeLock) {
+            // Changes committed while streaming may or may not be in the rows; replaying them is
+            // harmless because an older version never replaces a newer one
+            snapshot = ProductSnapshot.of(products).withChanges(collapse(changesDuringLoad));
+            changesDuringLoad = null;
+        }
+        logger.info("Product snapshot loaded: {} products in {} ms",
+            products.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<ProductChangeEvent> pending = (List<ProductChangeEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<ProductChangeEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProductReadEngine.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+
+    private void apply(List<ProductChangeEvent> events) {
+        synchronized (writeLock) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.addAll(events);
+            } else if (snapshot != null) {
+                snapshot = snapshot.withChanges(collapse(events));
+            }
+        }
+    }
+
+    // Last change per id wins; removals are kept as null values
+    private static Map<Long, CompactProduct> collapse(List<ProductChangeEvent> events) {
+        Map<Long, CompactProduct> changes = new LinkedHashMap<>(events.size() * 2);
+        for (ProductChangeEvent event : events) {
+            Product product = event.product();
+            changes.put(product.getId(), event.type() == ProductChangeEvent.Type.DELETED ? null : CompactProduct.from(product));
+        }
+        return changes;
+    }
+}
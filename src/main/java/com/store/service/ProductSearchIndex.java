@@ -0,0 +1,144 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+import com.store.exception.InvalidRequestException;
+import com.store.exception.ServiceBusyException;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Product name search ({@code GET /api/products/search}) over an in-memory {@link ProductNameIndex}.
+ *
+ * The index is built from the database once the application is ready and then kept current from
+ * committed {@link ProductChangeEvent}s: creates add a product, price changes replace the stored
+ * copy, deletes remove it. Queries run under a read lock and never touch the database.
+ */
+@Service
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxQueryLength;
+    private final int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ProductNameIndex index;                      // guarded by lock, null until loaded
+    private List<ProductChangeEvent> changesDuringLoad;  // guarded by lock
+
+    public ProductSearchIndex(ProductRepository productRepository, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${store.search.max-query-length:100}") int maxQueryLength,
+                              @Value("${store.search.max-results:1000}") int maxResults) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxQueryLength = maxQueryLength;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Ranked products whose name contains {@code query} (three or more characters) or has a word
+     * starting with it (shorter queries); deleted products are never returned.
+     *
+     * @throws InvalidRequestException if the query is blank or too long, or the page lies beyond {@code max-results}
+     * @throws ServiceBusyException while the index is still loading
+     */
+    public Page<CompactProduct> search(String query, Pageable pageable) {
+        if (query == null || ProductNameIndex.normalize(query).isEmpty() || query.length() > maxQueryLength) {
+            throw new InvalidRequestException(
+                String.format("Query must contain a letter or digit and be at most %d characters", maxQueryLength));
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > maxResults) {
+            throw new InvalidRequestException(
+                String.format("Search results are limited to the first %d matches", maxResults));
+        }
+        ProductNameIndex.Matches matches;
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                throw new ServiceBusyException("Search index is loading", null);
+            }
+            matches = index.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(matches.products(), pageable, matches.total());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ProductNameIndex loaded = new ProductNameIndex();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Product> rows = productRepository.streamAll()) {
+                rows.forEach(product -> {
+                    loaded.put(CompactProduct.from(product));
+                    entityManager.detach(product);
+                });
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            // Changes committed while streaming may already be in the rows; replaying them is
+            // harmless because an older version never replaces a newer one
+            changesDuringLoad.forEach(event -> apply(loaded, event));
+            changesDuringLoad = null;
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Product search index loaded: {} products in {} ms",
+            loaded.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(event);
+            } else if (index != null) {
+                apply(index, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(ProductNameIndex index, ProductChangeEvent event) {
+        Product product = event.product();
+        if (event.type() == ProductChangeEvent.Type.DELETED) {
+            index.remove(product.getId());
+        } else {
+            index.put(CompactProduct.from(product));
+        }
+    }
+}
@@ -1,31 +1,85 @@
 package com.store.service;
 
 import com.store.config.CacheConfig;
+import com.store.dto.ChangeSet;
+import com.store.dto.CursorPage;
+import com.store.exception.InvalidRequestException;
 import com.store.exception.ProductNotFoundException;
 import com.store.exception.ProductVersionMismatchException;
+import com.store.model.ArchivedProduct;
 import com.store.model.Product;
+import com.store.repository.ArchivedProductRepository;
+import com.store.repository.PriceRange;
 import com.store.repository.ProductRepository;
+import com.store.repository.ProductSortField;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
+@Timed(value = "store.product.service", description = "ProductService method latency", histogram = true)
 public class ProductService {
     
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+    private static final int BATCH_FLUSH_SIZE = 500;   // Entities kept in the persistence context per chunk
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final int MAX_UNVERSIONED_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_CHANGES_PAGE_SIZE = 10000;
+
     private final ProductRepository productRepository;
+    private final ArchivedProductRepository archivedProductRepository;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCounter productCounter;
+    private final Duration changesSettleTime;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ArchivedProductRepository archivedProductRepository,
+                          CacheManager cacheManager, EntityManager entityManager,
+                          ApplicationEventPublisher eventPublisher, ProductCounter productCounter,
+                          @Value("${store.products.changes.settle-time:5s}") Duration changesSettleTime) {
         this.productRepository = productRepository;
+        this.archivedProductRepository = archivedProductRepository;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.productCounter = productCounter;
+        this.changesSettleTime = changesSettleTime;
     }
 
     @CachePut(value = CacheConfig.PRODUCTS_CACHE, key = "#result.id")
@@ -33,14 +87,49 @@ public class ProductService {
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
         }
-        logger.info("Adding new product: name={}, price={}", product.getName(), product.getPrice());
-        return productRepository.save(product);
+        logger.debug("Adding new product: name={}, price={}", product.getName(), product.getPrice());
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangeEvent.created(saved));
+        return saved;
+    }
+
+    public List<Product> addProducts(List<Product> products) {
+        if (products == null || products.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Products cannot be null");
+        }
+        logger.debug("Adding {} products in chunks of {}", products.size(), BATCH_FLUSH_SIZE);
+
+        List<Product> saved = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += BATCH_FLUSH_SIZE) {
+            List<Product> chunk = products.subList(from, Math.min(from + BATCH_FLUSH_SIZE, products.size()));
+            List<Product> savedChunk = productRepository.saveAll(chunk);
+            savedChunk.forEach(product -> eventPublisher.publishEvent(ProductChangeEvent.created(product)));
+            saved.addAll(savedChunk);
+            // Push the chunk out as JDBC batches and keep the persistence context small
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        Map<Long, Product> entries = new HashMap<>(saved.size() * 2);
+        saved.forEach(product -> entries.put(product.getId(), product));
+        // Only after commit: a rolled-back batch must not leave cached products that were never stored
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAllInProductsCache(entries);
+                }
+            });
+        } else {
+            putAllInProductsCache(entries);
+        }
+        return saved;
     }
 
     @Cacheable(value = CacheConfig.PRODUCTS_CACHE, key = "#id", unless = "#result.deleted")
     @Transactional(readOnly = true)
     public Product getProductById(Long id) {
-        logger.info("Cache miss - Fetching product with id: {}", id);
+        logger.debug("Cache miss - Fetching product with id: {}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
         if (product.isDeleted()) {
@@ -49,34 +138,265 @@ public class ProductService {
         return product;
     }
 
-    @CachePut(value = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    /**
+     * Resolves many products at once: cache hits in one pass, all misses with a single IN query,
+     * then the loaded products go back into the cache in bulk. Unknown and deleted ids are
+     * skipped; the result follows the order of the (de-duplicated) input.
+     */
+    // SUPPORTS: an all-hit lookup never opens a transaction or touches the connection pool
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException(
+                String.format("Between 1 and %d ids are required, got %d", MAX_LOOKUP_IDS, ids == null ? 0 : ids.size()));
+        }
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> found = getAllFromProductsCache(uniqueIds);
+        List<Long> misses = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+        logger.debug("Fetching {} products by id: {} cache hits, {} misses", uniqueIds.size(), found.size(), misses.size());
+
+        if (!misses.isEmpty()) {
+            Map<Long, Product> loaded = new HashMap<>(misses.size() * 2);
+            for (Product product : productRepository.findAllById(misses)) {
+                if (!product.isDeleted()) {
+                    loaded.put(product.getId(), product);
+                }
+            }
+            putAllInProductsCache(loaded);
+            found.putAll(loaded);
+        }
+        return uniqueIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Changes the price with a single conditional UPDATE and derives the new state from the
+     * known one, so the common case (product cached) costs one statement and no entity load.
+     * The database is only read when the UPDATE matched nothing, to tell 404 from 409, or to
+     * pick up the current version of an unversioned update whose cached copy was stale.
+     */
+    @Caching(
+        put = @CachePut(value = CacheConfig.PRODUCTS_CACHE, key = "#id"),
+        evict = @CacheEvict(value = CacheConfig.PRODUCT_JSON_CACHE, key = "#id"))
     public Product updatePrice(Long id, BigDecimal newPrice, Integer expectedVersion) {
-        logger.info("Updating price for product id: {} to: {}, expected version: {}", id, newPrice, expectedVersion);
-        Product product = getProductById(id);
-        
-        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
-            throw new ProductVersionMismatchException(
-                String.format("Your version of product with id=%d is outdated. Your version: %d. Current version: %d", 
-                    id, expectedVersion, product.getVersion()));
+        logger.debug("Updating price for product id: {} to: {}, expected version: {}", id, newPrice, expectedVersion);
+        Product current = getFromProductsCache(id);
+        if (current == null) {
+            current = loadProduct(id);
+            // Just read from the database: a stale expected version fails without the UPDATE or a re-read
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw versionMismatch(id, expectedVersion, current);
+            }
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Integer version = expectedVersion != null ? expectedVersion : current.getVersion();
+            // Truncate to the column precision so the cached copy matches what was stored
+            Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            if (productRepository.updatePriceIfVersion(id, newPrice, version, updatedAt) == 1) {
+                Product updated = current.withUpdatedPrice(newPrice, version + 1, updatedAt);
+                eventPublisher.publishEvent(ProductChangeEvent.priceChanged(updated));
+                return updated;
+            }
+
+            current = loadProduct(id);
+            if (expectedVersion != null || attempt == MAX_UNVERSIONED_UPDATE_ATTEMPTS) {
+                throw versionMismatch(id, version, current);
+            }
+            logger.debug("Product {} moved past version {}, retrying with version {}", id, version, current.getVersion());
         }
-        
-        product.setPrice(newPrice);
-        return productRepository.save(product);
     }
 
     @Transactional(readOnly = true)
     public Page<Product> getAllProducts(Pageable pageable) {
-        logger.info("Fetching products with pagination: page={}, size={}, sort={}", 
+        return getAllProducts(pageable, PriceRange.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Product> getAllProducts(Pageable pageable, PriceRange priceRange) {
+        logger.debug("Fetching products with pagination: page={}, size={}, sort={}, priceRange={}",
             pageable.getPageNumber(), 
             pageable.getPageSize(), 
-            pageable.getSort());
-        return productRepository.findAll(pageable);
+            pageable.getSort(),
+            priceRange);
+        Pageable ordered = withIdTieBreaker(pageable);
+        return priceRange.isUnbounded()
+            ? productRepository.findAll(ordered)
+            : productRepository.findAllInPriceRange(priceRange, ordered);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Product> getProductsSlice(Pageable pageable) {
+        return getProductsSlice(pageable, PriceRange.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Product> getProductsSlice(Pageable pageable, PriceRange priceRange) {
+        logger.debug("Fetching products slice: page={}, size={}, sort={}, priceRange={}",
+            pageable.getPageNumber(),
+            pageable.getPageSize(),
+            pageable.getSort(),
+            priceRange);
+        Pageable ordered = withIdTieBreaker(pageable);
+        return priceRange.isUnbounded()
+            ? productRepository.findAllAsSlice(ordered)
+            : productRepository.findSliceInPriceRange(priceRange, ordered);
+    }
+
+    @Transactional(readOnly = true)
+    public long getProductCount() {
+        return productCounter.get();
+    }
+
+    // Exact for a price range (an index range count), maintained incrementally otherwise
+    @Transactional(readOnly = true)
+    public long getProductCount(PriceRange priceRange) {
+        return priceRange.isUnbounded() ? productCounter.get() : productRepository.countInPriceRange(priceRange);
     }
 
-    @CacheEvict(value = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsByCursor(ProductSortField sortField, Sort.Direction direction,
+                                                   String cursor, int size) {
+        return getProductsByCursor(sortField, direction, cursor, size, PriceRange.ALL);
+    }
+
+    /**
+     * Keyset page of the products within {@code priceRange}; keep the range unchanged while
+     * following a cursor, as with the sort.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsByCursor(ProductSortField sortField, Sort.Direction direction,
+                                                   String cursor, int size, PriceRange priceRange) {
+        logger.debug("Fetching products by cursor: sort={} {}, size={}, cursor={}, priceRange={}",
+            sortField, direction, size, cursor, priceRange);
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException(
+                String.format("Page size must be between 1 and %d, got %d", MAX_CURSOR_PAGE_SIZE, size));
+        }
+
+        Object lastKey = null;
+        Long lastId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            ProductCursor decoded = ProductCursor.decode(cursor);
+            if (decoded.sortField() != sortField || decoded.direction() != direction) {
+                throw new InvalidRequestException(String.format(
+                    "Cursor was issued for sort %s %s, not %s %s",
+                    decoded.sortField(), decoded.direction(), sortField, direction));
+            }
+            lastKey = decoded.lastKey();
+            lastId = decoded.lastId();
+        }
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Product> rows = productRepository.findNextByKeyset(sortField, direction, lastKey, lastId, priceRange, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Product> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+            ? ProductCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+            : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Everything created, updated or soft-deleted after {@code since} (a token from a previous
+     * call; null for a full sync), deleted products included as tombstones. Only changes older
+     * than the settle time are returned, so a transaction that stamped its rows earlier but
+     * commits later is not skipped by a token that already moved past it. Tombstones moved to
+     * products_archive are merged back in, so archiving never hides a deletion from a client.
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet<Product> getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            throw new InvalidRequestException(
+                String.format("Limit must be between 1 and %d, got %d", MAX_CHANGES_PAGE_SIZE, limit));
+        }
+        ProductChangeToken token = since == null ? ProductChangeToken.START : ProductChangeToken.decode(since);
+        Instant until = Instant.now().minus(changesSettleTime);
+        // Fetch one extra row to learn whether more changes are waiting. The hot table is read first:
+        // a row archived in between is then seen twice (and deduplicated), never missed.
+        List<Product> live = productRepository.findChangedAfter(token.updatedAt(), token.id(), until, limit + 1);
+        List<ArchivedProduct> archived = archivedProductRepository.findChangedAfter(token.updatedAt(), token.id(), until, limit + 1);
+        List<Product> rows = mergeChanges(live, archived, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Product> changes = hasMore ? rows.subList(0, limit) : rows;
+        ProductChangeToken next = changes.isEmpty() ? token : ProductChangeToken.after(changes.get(changes.size() - 1));
+        logger.debug("Found {} product changes since {}, hasMore={}", changes.size(), token, hasMore);
+        return new ChangeSet<>(changes, hasMore, next.encode());
+    }
+
+    @CacheEvict(value = {CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE}, key = "#id")
     public void softDeleteProduct(Long id) {
-        logger.info("Soft deleting product with id: {}", id);
+        logger.debug("Soft deleting product with id: {}", id);
         Product product = getProductById(id);
-        productRepository.softDeleteById(id);
+        productRepository.softDeleteById(id, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(product));
+    }
+
+    // Both inputs are in (updatedAt, id) order
+    private static List<Product> mergeChanges(List<Product> live, List<ArchivedProduct> archived, int limit) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<Long, Product> byId = new HashMap<>((live.size() + archived.size()) * 2);
+        live.forEach(product -> byId.put(product.getId(), product));
+        archived.forEach(product -> byId.putIfAbsent(product.getId(), product.toTombstone()));
+        return byId.values().stream()
+            .sorted(Comparator.comparing(Product::getUpdatedAt).thenComparing(Product::getId))
+            .limit(limit)
+            .toList();
+    }
+
+    // Ends a sort with the id in the same direction: pages stay stable among equal keys, match the
+    // snapshot's ordering and read straight off the (field, id) indexes
+    private static Pageable withIdTieBreaker(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (pageable.isUnpaged() || sort.isUnsorted() || sort.getOrderFor("id") != null) {
+            return pageable;
+        }
+        List<Sort.Order> orders = sort.toList();
+        Sort.Direction direction = orders.get(orders.size() - 1).getDirection();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by(direction, "id")));
+    }
+
+    private static ProductVersionMismatchException versionMismatch(Long id, Integer version, Product current) {
+        return new ProductVersionMismatchException(
+            String.format("Your version of product with id=%d is outdated. Your version: %d. Current version: %d",
+                id, version, current.getVersion()));
+    }
+
+    private Product getFromProductsCache(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        return cache != null ? cache.get(id, Product.class) : null;
+    }
+
+    private Product loadProduct(Long id) {
+        return productRepository.findById(id)
+            .filter(product -> !product.isDeleted())
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+    }
+
+    private Map<Long, Product> getAllFromProductsCache(Collection<Long> ids) {
+        Map<Long, Product> found = new HashMap<>(ids.size() * 2);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().getAllPresent(ids)
+                .forEach((id, product) -> found.put((Long) id, (Product) product));
+        } else if (cache != null) {
+            ids.forEach(id -> {
+                Product product = cache.get(id, Product.class);
+                if (product != null) {
+                    found.put(id, product);
+                }
+            });
+        }
+        return found;
+    }
+
+    private void putAllInProductsCache(Map<Long, Product> entries) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().putAll(entries);
+        } else if (cache != null) {
+            entries.forEach(cache::put);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+import com.store.repository.PriceRange;
+import com.store.repository.ProductSortField;
+import org.springframework.data.domain.Sort;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of all non-deleted products: an open-addressing id table for point
+ * reads and one presorted array per {@link ProductSortField} for listings. Products are held as
+ * {@link CompactProduct}s, so prices compare as longs and a price range is two binary searches over
+ * the price ordering. A snapshot is never modified; {@link #withChanges} returns a new one that
+ * shares nothing mutable with the old one, so readers need no locking.
+ */
+public final class ProductSnapshot {
+
+    private static final Map<ProductSortField, Comparator<CompactProduct>> ORDERINGS = new EnumMap<>(ProductSortField.class);
+
+    static {
+        Comparator<CompactProduct> byId = Comparator.comparingLong(CompactProduct::id);
+        ORDERINGS.put(ProductSortField.ID, byId);
+        ORDERINGS.put(ProductSortField.NAME, Comparator.comparing(CompactProduct::name).thenComparing(byId));
+        ORDERINGS.put(ProductSortField.PRICE, Comparator.comparingLong(CompactProduct::priceCents).thenComparing(byId));
+        ORDERINGS.put(ProductSortField.UPDATED_AT, Comparator.comparing(CompactProduct::updatedAt).thenComparing(byId));
+    }
+
+    static final ProductSnapshot EMPTY = of(List.of());
+
+    private final Map<ProductSortField, CompactProduct[]> indexes;
+    private final long[] tableKeys;
+    private final CompactProduct[] tableValues;    // null marks a free slot
+    private final int mask;
+
+    private ProductSnapshot(Map<ProductSortField, CompactProduct[]> indexes) {
+        this.indexes = indexes;
+        CompactProduct[] byId = indexes.get(ProductSortField.ID);
+        int capacity = Integer.highestOneBit(Math.max(4, byId.length * 2 - 1)) << 1;   // load factor <= 0.5
+        this.tableKeys = new long[capacity];
+        this.tableValues = new CompactProduct[capacity];
+        this.mask = capacity - 1;
+        for (CompactProduct product : byId) {
+            int slot = slot(product.id());
+            while (tableValues[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            tableKeys[slot] = product.id();
+            tableValues[slot] = product;
+        }
+    }
+
+    public static ProductSnapshot of(Collection<CompactProduct> products) {
+        Map<ProductSortField, CompactProduct[]> indexes = new EnumMap<>(ProductSortField.class);
+        CompactProduct[] all = products.toArray(new CompactProduct[0]);
+        ORDERINGS.forEach((field, ordering) -> {
+            CompactProduct[] index = all.clone();
+            Arrays.sort(index, ordering);
+            indexes.put(field, index);
+        });
+        return new ProductSnapshot(indexes);
+    }
+
+    /**
+     * Returns a snapshot with the given changes applied. A {@code null} value removes the id;
+     * any other value replaces the product unless the snapshot already holds a newer version.
+     * Costs one linear merge per index, however many changes there are.
+     */
+    public ProductSnapshot withChanges(Map<Long, CompactProduct> changes) {
+        List<CompactProduct> upserts = new ArrayList<>(changes.size());
+        List<Long> touchedIds = new ArrayList<>(changes.size());
+        changes.forEach((id, product) -> {
+            CompactProduct current = get(id);
+            if (product != null && current != null && current.version() > product.version()) {
+                return;
+            }
+            touchedIds.add(id);
+            if (product != null) {
+                upserts.add(product);
+            }
+        });
+        if (touchedIds.isEmpty()) {
+            return this;
+        }
+
+        long[] touchedSorted = touchedIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<ProductSortField, CompactProduct[]> merged = new EnumMap<>(ProductSortField.class);
+        ORDERINGS.forEach((field, ordering) -> {
+            CompactProduct[] added = upserts.toArray(new CompactProduct[0]);
+            Arrays.sort(added, ordering);
+            merged.put(field, merge(indexes.get(field), touchedSorted, added, ordering));
+        });
+        return new ProductSnapshot(merged);
+    }
+
+    public CompactProduct get(long id) {
+        int slot = slot(id);
+        CompactProduct product;
+        while ((product = tableValues[slot]) != null) {
+            if (tableKeys[slot] == id) {
+                return product;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return indexes.get(ProductSortField.ID).length;
+    }
+
+    /**
+     * Products at positions [offset, offset + limit) of the given ordering; descending order walks
+     * the same array from the end, with the id as tie-breaker in the same direction.
+     */
+    public List<CompactProduct> page(ProductSortField field, Sort.Direction direction, long offset, int limit) {
+        return page(indexes.get(field), direction, offset, limit);
+    }
+
+    /**
+     * Like {@link #page(ProductSortField, Sort.Direction, long, int)}, restricted to a price range.
+     * Sorted by price this reads only the requested positions; any other order first sorts the
+     * products within the range, so the cost follows the range size, not the catalog size.
+     */
+    public List<CompactProduct> page(ProductSortField field, Sort.Direction direction, PriceRange range, long offset, int limit) {
+        if (range.isUnbounded()) {
+            return page(field, direction, offset, limit);
+        }
+        int from = lowerBound(range);
+        int to = upperBound(range);
+        if (from >= to) {
+            return List.of();
+        }
+        CompactProduct[] byPrice = indexes.get(ProductSortField.PRICE);
+        if (field == ProductSortField.PRICE) {
+            return page(byPrice, from, to, direction, offset, limit);
+        }
+        CompactProduct[] inRange = Arrays.copyOfRange(byPrice, from, to);
+        Arrays.sort(inRange, ORDERINGS.get(field));
+        return page(inRange, direction, offset, limit);
+    }
+
+    public int count(PriceRange range) {
+        return range.isUnbounded() ? size() : Math.max(0, upperBound(range) - lowerBound(range));
+    }
+
+    private static List<CompactProduct> page(CompactProduct[] index, Sort.Direction direction, long offset, int limit) {
+        return page(index, 0, index.length, direction, offset, limit);
+    }
+
+    // Page of the positions [start, end) of index
+    private static List<CompactProduct> page(CompactProduct[] index, int start, int end, Sort.Direction direction,
+                                      long offset, int limit) {
+        if (offset >= end - start) {
+            return List.of();
+        }
+        int from = (int) offset;
+        int count = Math.min(limit, end - start - from);
+        CompactProduct[] page = new CompactProduct[count];
+        if (direction.isAscending()) {
+            System.arraycopy(index, start + from, page, 0, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                page[i] = index[end - 1 - from - i];
+            }
+        }
+        return Arrays.asList(page);
+    }
+
+    // Old entries minus the touched ids, merged with the (sorted) replacements in one pass
+    private static CompactProduct[] merge(CompactProduct[] old, long[] touchedSorted, CompactProduct[] added, Comparator<CompactProduct> ordering) {
+        CompactProduct[] result = new CompactProduct[old.length + added.length];
+        int size = 0;
+        int a = 0;
+        for (CompactProduct product : old) {
+            if (Arrays.binarySearch(touchedSorted, product.id()) >= 0) {
+                continue;
+            }
+            while (a < added.length && ordering.compare(added[a], product) < 0) {
+                result[size++] = added[a++];
+            }
+            result[size++] = product;
+        }
+        while (a < added.length) {
+            result[size++] = added[a++];
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    // First position priced at or above the minimum; bounds with more than two decimals are rounded inwards
+    private int lowerBound(PriceRange range) {
+        if (range.min() == null) {
+            return 0;
+        }
+        long min = CompactProduct.minorUnits(range.min(), RoundingMode.CEILING);
+        CompactProduct[] byPrice = indexes.get(ProductSortField.PRICE);
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPrice[mid].priceCents() < min) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position priced above the maximum
+    private int upperBound(PriceRange range) {
+        CompactProduct[] byPrice = indexes.get(ProductSortField.PRICE);
+        if (range.max() == null) {
+            return byPrice.length;
+        }
+        long max = CompactProduct.minorUnits(range.max(), RoundingMode.FLOOR);
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPrice[mid].priceCents() <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;   // Fibonacci hashing spreads sequential ids
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+}
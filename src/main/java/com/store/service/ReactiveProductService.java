@@ -0,0 +1,107 @@
+package com.store.service;
+
+import com.store.config.CacheConfig;
+import com.store.dto.CompactProduct;
+import com.store.dto.CursorPage;
+import com.store.exception.ServiceBusyException;
+import com.store.model.Product;
+import com.store.repository.ProductSortField;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking view of the product reads for the reactive API. Anything in memory (read engine
+ * snapshot, products cache) is returned on the calling thread; everything else runs the regular
+ * {@link ProductService} method on the bounded {@code productReadScheduler}, so a request waiting
+ * on the database holds no servlet thread.
+ */
+@Service
+public class ReactiveProductService {
+
+    private final ProductService productService;
+    private final ProductReadEngine productReadEngine;
+    private final CacheManager cacheManager;
+    private final Scheduler productReadScheduler;
+
+    public ReactiveProductService(ProductService productService, ProductReadEngine productReadEngine,
+                                  CacheManager cacheManager,
+                                  @Qualifier("productReadScheduler") Scheduler productReadScheduler) {
+        this.productService = productService;
+        this.productReadEngine = productReadEngine;
+        this.cacheManager = cacheManager;
+        this.productReadScheduler = productReadScheduler;
+    }
+
+    public Mono<CompactProduct> findById(Long id) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return Mono.defer(() -> {
+            CompactProduct product = productReadEngine.findById(id).orElseGet(() -> getFromProductsCache(id));
+            return product != null
+                ? Mono.just(product)
+                : offload(mdc, () -> CompactProduct.from(productService.getProductById(id)));
+        });
+    }
+
+    public Mono<Page<CompactProduct>> findPage(Pageable pageable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return Mono.defer(() -> productReadEngine.findPage(pageable)
+            .map(Mono::just)
+            .orElseGet(() -> offload(mdc, () -> productService.getAllProducts(pageable).map(CompactProduct::from))));
+    }
+
+    /**
+     * Every product in the given order, fetched one keyset page at a time. The next page is only
+     * queried once the subscriber has taken the previous one, so a slow consumer (ultimately the
+     * socket) slows down the reads instead of filling memory, and no connection is held between pages.
+     */
+    public Flux<Product> streamAll(ProductSortField sortField, Sort.Direction direction, int batchSize) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return fetchPage(mdc, sortField, direction, null, batchSize)
+            .expand(page -> page.hasNext()
+                ? fetchPage(mdc, sortField, direction, page.nextCursor(), batchSize)
+                : Mono.empty())
+            .concatMapIterable(CursorPage::content, 1);
+    }
+
+    private Mono<CursorPage<Product>> fetchPage(Map<String, String> mdc, ProductSortField sortField,
+                                                Sort.Direction direction, String cursor, int batchSize) {
+        return offload(mdc, () -> productService.getProductsByCursor(sortField, direction, cursor, batchSize));
+    }
+
+    // The MDC (request id) is captured on the request thread and restored around the read
+    private <T> Mono<T> offload(Map<String, String> mdc, Callable<T> blockingRead) {
+        return Mono.fromCallable(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    return blockingRead.call();
+                } finally {
+                    MDC.clear();
+                }
+            })
+            .subscribeOn(productReadScheduler)
+            .onErrorMap(RejectedExecutionException.class,
+                e -> new ServiceBusyException("Too many product reads waiting for the database", e));
+    }
+
+    // Only peeks: lookups on the products cache never run its loader (see CacheConfig)
+    private CompactProduct getFromProductsCache(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        Product product = cache != null ? cache.get(id, Product.class) : null;
+        return product != null ? CompactProduct.from(product) : null;
+    }
+}
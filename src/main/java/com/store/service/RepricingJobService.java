@@ -0,0 +1,238 @@
+package com.store.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.store.config.CacheConfig;
+import com.store.dto.RepricingJobStatus;
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import com.store.repository.RepricingRule;
+import com.store.repository.RepricingScope;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Catalog-wide price changes as background jobs. A job walks the id range of the matching
+ * products in chunks of {@code store.repricing.chunk-size} ids; each chunk is one transaction
+ * with one set-based UPDATE (price, version + 1, updatedAt), after which the changed rows are
+ * read back once to publish {@link ProductChangeEvent}s and evict them from the product caches in bulk.
+ * Jobs run one at a time, in submission order, on their own thread.
+ */
+@Service
+public class RepricingJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepricingJobService.class);
+    private static final int MAX_PRICE_INTEGER_DIGITS = 8;   // price column: precision 10, scale 2
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final ExecutorService runner;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Job> jobs = Caffeine.newBuilder()
+        .maximumSize(1000)
+        .build();
+
+    public RepricingJobService(ProductRepository productRepository, CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                               @Value("${store.repricing.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repricing-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+    }
+
+    public RepricingJobStatus submit(RepricingRule rule) {
+        validate(rule);
+        checkFitsPriceColumn(rule, transaction.execute(status -> productRepository.findRepricingScope(rule)));
+        Job job = new Job(UUID.randomUUID().toString(), rule);
+        jobs.put(job.id, job);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        runner.execute(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                run(job);
+            } finally {
+                MDC.clear();
+            }
+        });
+        logger.info("Repricing job {} queued: {}", job.id, rule);
+        return job.toStatus();
+    }
+
+    public Optional<RepricingJobStatus> getStatus(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id)).map(Job::toStatus);
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.state = RepricingJobStatus.State.RUNNING;
+        try {
+            RepricingScope scope = transaction.execute(status -> productRepository.findRepricingScope(job.rule));
+            job.matching = scope.matching();
+            // Prices may have risen since submit: fail before the first chunk commits, not halfway through
+            checkFitsPriceColumn(job.rule, scope);
+            if (scope.minId() != null) {
+                long first = scope.minId();
+                long end = scope.maxId() + 1;
+                job.chunksTotal = (int) ((end - first + chunkSize - 1) / chunkSize);
+                Instant previousStamp = Instant.EPOCH;
+                for (long from = first; from < end; from += chunkSize) {
+                    long to = Math.min(from + chunkSize, end);
+                    // Distinct per chunk, so the read-back only sees this chunk's rows
+                    Instant stamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+                    if (!stamp.isAfter(previousStamp)) {
+                        stamp = previousStamp.plus(1, ChronoUnit.MICROS);
+                    }
+                    previousStamp = stamp;
+                    List<Product> changed = repriceChunk(job.rule, from, to, stamp);
+                    evictFromCaches(changed);
+                    job.updated += changed.size();
+                    job.chunksCompleted++;
+                    job.progress = (double) (to - first) / (end - first);
+                }
+            }
+            job.progress = 1.0;
+            job.state = RepricingJobStatus.State.COMPLETED;
+            logger.info("Repricing job {} completed: {} products updated in {} chunks, {} ms", job.id, job.updated,
+                job.chunksCompleted, ChronoUnit.MILLIS.between(job.startedAt, Instant.now()));
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.state = RepricingJobStatus.State.FAILED;
+            logger.error("Repricing job {} failed after {} chunks", job.id, job.chunksCompleted, e);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    private List<Product> repriceChunk(RepricingRule rule, long from, long to, Instant stamp) {
+        return transaction.execute(status -> {
+            if (productRepository.reprice(rule, from, to, stamp) == 0) {
+                return List.of();
+            }
+            List<Product> changed = productRepository.findUpdatedInRange(from, to, stamp).stream()
+                .map(Product::copy)
+                .toList();
+            changed.forEach(product -> eventPublisher.publishEvent(ProductChangeEvent.priceChanged(product)));
+            return changed;
+        });
+    }
+
+    // Evicted rather than refreshed: a concurrent updatePrice or write-behind flush may already have
+    // cached a newer version than this chunk's read-back, and putting ours would overwrite it
+    private void evictFromCaches(List<Product> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = changed.stream().map(Product::getId).toList();
+        for (String cacheName : List.of(CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                caffeineCache.getNativeCache().invalidateAll(ids);
+            } else if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        }
+    }
+
+    private static void validate(RepricingRule rule) {
+        BigDecimal value = rule.value();
+        if (exceedsPriceColumn(value) || exceedsPriceColumn(rule.minPrice()) || exceedsPriceColumn(rule.maxPrice())) {
+            throw new InvalidRequestException("value, minPrice and maxPrice must have at most " +
+                MAX_PRICE_INTEGER_DIGITS + " digits before the decimal point");
+        }
+        if (rule.operation() != RepricingRule.Operation.PERCENT && value.stripTrailingZeros().scale() > 2) {
+            throw new InvalidRequestException("Value must have at most 2 decimals, got " + value);
+        }
+        if (rule.operation() == RepricingRule.Operation.SET && value.signum() < 0) {
+            throw new InvalidRequestException("A SET price must be 0 or higher, got " + value);
+        }
+        if (rule.operation() == RepricingRule.Operation.PERCENT && value.compareTo(BigDecimal.valueOf(-100)) < 0) {
+            throw new InvalidRequestException("A PERCENT change must be -100 or higher, got " + value);
+        }
+        if (rule.minPrice() != null && rule.maxPrice() != null && rule.minPrice().compareTo(rule.maxPrice()) > 0) {
+            throw new InvalidRequestException("minPrice must not exceed maxPrice");
+        }
+    }
+
+    // The highest price the rule can produce is the highest matching price, repriced
+    private static void checkFitsPriceColumn(RepricingRule rule, RepricingScope scope) {
+        BigDecimal highest = switch (rule.operation()) {
+            case SET -> rule.value();
+            case ADD -> scope.maxPrice() == null ? null : scope.maxPrice().add(rule.value());
+            case PERCENT -> scope.maxPrice() == null
+                ? null
+                : scope.maxPrice().multiply(rule.percentFactor()).setScale(2, RoundingMode.HALF_UP);
+        };
+        if (highest != null && highest.compareTo(MAX_PRICE) > 0) {
+            throw new InvalidRequestException("Repricing would raise prices to " + highest.toPlainString() +
+                ", above the maximum price of " + MAX_PRICE.toPlainString());
+        }
+    }
+
+    private static boolean exceedsPriceColumn(BigDecimal amount) {
+        return amount != null && amount.precision() - amount.scale() > MAX_PRICE_INTEGER_DIGITS;
+    }
+
+    // Written by the job thread only; volatile so status reads see progress
+    private static final class Job {
+        private final String id;
+        private final RepricingRule rule;
+        private final Instant submittedAt = Instant.now();
+        private volatile RepricingJobStatus.State state = RepricingJobStatus.State.QUEUED;
+        private volatile long matching;
+        private volatile long updated;
+        private volatile int chunksCompleted;
+        private volatile int chunksTotal;
+        private volatile double progress;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, RepricingRule rule) {
+            this.id = id;
+            this.rule = rule;
+        }
+
+        RepricingJobStatus toStatus() {
+            return new RepricingJobStatus(id, state, rule, matching, updated, chunksCompleted, chunksTotal,
+                progress, submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.store;
+
+import com.store.model.Product;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Detached products as if loaded from the database, for tests that run without JPA. The id and
+ * audit timestamps have no setters, so they are set reflectively.
+ */
+public final class TestProducts {
+
+    private TestProducts() {
+    }
+
+    public static Product product(long id, String name, String price, int version) {
+        return product(id, name, price, version, null);
+    }
+
+    // createdAt and updatedAt both set to timestamp
+    public static Product product(long id, String name, String price, int version, Instant timestamp) {
+        Product product = new Product(name, new BigDecimal(price));
+        product.setVersion(version);
+        set(product, "id", id);
+        set(product, "createdAt", timestamp);
+        set(product, "updatedAt", timestamp);
+        return product;
+    }
+
+    private static void set(Product product, String fieldName, Object value) {
+        try {
+            Field field = Product.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(product, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to set Product." + fieldName, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.store.benchmark;
+
+import com.store.StoreApiApplication;
+import com.store.TestProducts;
+import com.store.model.Product;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Shared fixtures for the JMH benchmarks: a quiet application context (with or without the web
+ * server) on a private in-memory database, and detached products with JPA-managed fields filled in.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startApplication(String... extraProperties) {
+        return builder(WebApplicationType.NONE, extraProperties).run();
+    }
+
+    /**
+     * Starts the full servlet application on a random port ({@code local.server.port}); the
+     * initializers can register benchmark-only beans such as extra controllers.
+     */
+    @SafeVarargs
+    static ConfigurableApplicationContext startWebApplication(String[] extraProperties,
+                                                              ApplicationContextInitializer<GenericApplicationContext>... initializers) {
+        SpringApplicationBuilder builder = builder(WebApplicationType.SERVLET, extraProperties)
+                .properties("server.port=0");
+        for (ApplicationContextInitializer<GenericApplicationContext> initializer : initializers) {
+            builder.initializers(context -> initializer.initialize((GenericApplicationContext) context));
+        }
+        return builder.run();
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType webApplicationType, String... extraProperties) {
+        return new SpringApplicationBuilder(StoreApiApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                        "logging.level.root=WARN",
+                        "logging.level.com.store=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        // Lost optimistic-lock races are expected under contention
+                        "logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                        "logging.level.com.store.exception=OFF")
+                .properties(extraProperties);
+    }
+
+    static Product product(long id, String name, String price) {
+        return TestProducts.product(id, name, price, 3, Instant.parse("2024-05-05T12:00:00.123456Z"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.store.benchmark;
+
+import com.store.config.CacheConfig;
+import com.store.model.Product;
+import com.store.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * ProductService.getProductById through the caching proxy, on a hit and on a miss.
+ * The miss benchmark evicts before each lookup, so it includes one cheap eviction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductCacheBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Cache productsCache;
+    private long[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        productService = context.getBean(ProductService.class);
+        productsCache = context.getBean(CacheManager.class).getCache(CacheConfig.PRODUCTS_CACHE);
+        List<Product> products = productService.addProducts(IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> new Product("Benchmark Product " + i, new BigDecimal("9.99")))
+                .toList());
+        ids = products.stream().mapToLong(Product::getId).toArray();
+        productService.getProductById(ids[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product getProductByIdCacheHit() {
+        return productService.getProductById(ids[0]);
+    }
+
+    @Benchmark
+    public Product getProductByIdCacheMiss() {
+        long id = ids[next++ % ids.length];
+        productsCache.evict(id);
+        return productService.getProductById(id);
+    }
+}
@@ -0,0 +1,69 @@
+package com.store.benchmark;
+
+import com.store.model.Product;
+import com.store.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * getAllProducts (OFFSET/LIMIT plus count) at increasing page depths over a 20k catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductPagingBenchmark {
+
+    private static final int CATALOG_SIZE = 20_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "10", "100", "990"})
+    public int page;
+
+    @Param({"id", "name"})
+    public String sortBy;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        productService = context.getBean(ProductService.class);
+        productService.addProducts(IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> new Product("Paged Product " + (CATALOG_SIZE - i), new BigDecimal(i % 500 + ".99")))
+                .toList());
+        pageRequest = PageRequest.of(page, PAGE_SIZE, Sort.by(sortBy));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> getAllProducts() {
+        return productService.getAllProducts(pageRequest);
+    }
+}
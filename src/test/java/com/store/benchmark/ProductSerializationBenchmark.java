@@ -0,0 +1,79 @@
+package com.store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.dto.CompactProduct;
+import com.store.dto.ProductResponse;
+import com.store.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Response mapping and JSON encoding, configured like the MVC message converter. The compact
+ * variants render {@link CompactProduct}s: mapped from entities (database pages) or held already
+ * (snapshot pages). Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Product product;
+    private Page<Product> page;
+    private Page<CompactProduct> compactPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        product = BenchmarkSupport.product(42L, "Credit Card (Premium)", "95.00");
+        List<Product> products = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> BenchmarkSupport.product(id, "Certificate of Deposit " + id, id + "000.00"))
+                .toList();
+        page = new PageImpl<>(products, PageRequest.of(3, 20), 1_000);
+        compactPage = page.map(CompactProduct::from);
+    }
+
+    @Benchmark
+    public ProductResponse mapSingle() {
+        return ProductResponse.from(product);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeSingle() throws Exception {
+        return objectMapper.writeValueAsBytes(ProductResponse.from(product));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page.map(ProductResponse::from));
+    }
+
+    @Benchmark
+    public byte[] mapCompactAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page.map(CompactProduct::from));
+    }
+
+    @Benchmark
+    public byte[] serializeCompactPage() throws Exception {
+        return objectMapper.writeValueAsBytes(compactPage);
+    }
+}
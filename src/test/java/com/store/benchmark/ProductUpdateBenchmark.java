@@ -0,0 +1,73 @@
+package com.store.benchmark;
+
+import com.store.exception.ProductVersionMismatchException;
+import com.store.model.Product;
+import com.store.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Unversioned updatePrice calls from several threads. With hotProducts=1 every thread fights
+ * over the same row; larger values spread the writes. Lost optimistic-lock races are counted
+ * as completed operations, just as a client would see them (409).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductUpdateBenchmark {
+
+    @Param({"1", "64"})
+    public int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        productService = context.getBean(ProductService.class);
+        ids = productService.addProducts(IntStream.range(0, hotProducts)
+                        .mapToObj(i -> new Product("Contended Product " + i, new BigDecimal("10.00")))
+                        .toList())
+                .stream().mapToLong(Product::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object updatePrice() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        try {
+            return productService.updatePrice(id, BigDecimal.valueOf(random.nextInt(1, 100_000), 2), null);
+        } catch (OptimisticLockingFailureException | ProductVersionMismatchException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.store.benchmark;
+
+import com.store.config.RequestIdFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of RequestIdFilter against an empty chain, with and without an incoming
+ * X-Request-ID (the latter pays for UUID generation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestIdFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean incomingRequestId;
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+    private final FilterChain emptyChain = (request, response) -> { };
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/products/1");
+        if (incomingRequestId) {
+            request.addHeader("X-Request-ID", "3f1c2b9e-6a57-4c1e-9d55-0c2f6b7a8e91");
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void baseline() throws Exception {
+        emptyChain.doFilter(request, response);
+    }
+
+    @Benchmark
+    public void requestIdFilter() throws Exception {
+        filter.doFilter(request, response, emptyChain);
+    }
+}
@@ -0,0 +1,111 @@
+package com.store.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform versus virtual request threads at high concurrency against an endpoint whose
+ * transactional work waits on a slow query (an H2 function that sleeps for latencyMs).
+ * The connection pool is sized above the client count so that only the threading model
+ * limits concurrency: platform mode tops out at Tomcat's 200 worker threads, virtual mode
+ * does not. Reports throughput and the latency distribution (p99 in the SampleTime rows).
+ *
+ * The virtual mode needs a Java 21+ JVM. On older runtimes Spring Boot would fall back to
+ * platform threads and both rows would measure the same thing, so the virtual row refuses to run.
+ * The SLEEP_MS alias names Thread.sleep(long) explicitly: since Java 19 there is also a
+ * Thread.sleep(Duration), and H2 rejects an alias to overloads with the same parameter count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class ThreadingModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    @Param({"20"})
+    public int latencyMs;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        if ("virtual".equals(threading) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21+, this JVM is " + Runtime.version());
+        }
+        context = BenchmarkSupport.startWebApplication(new String[] {
+                "spring.threads.virtual.enabled=" + "virtual".equals(threading),
+                "spring.datasource.hikari.maximum-pool-size=450",
+                "logging.level.com.store.config.ThreadingConfig=INFO"
+        }, ctx -> ctx.registerBean("slowQueryRoute", RouterFunction.class,
+                () -> slowQueryRoute(ctx.getBean(JdbcTemplate.class), ctx.getBean(PlatformTransactionManager.class))));
+        context.getBean(JdbcTemplate.class).execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bench/slow-query?latencyMs=" + latencyMs))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString("user:userpass".getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int slowQuery() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    // A functional route rather than a @RestController, so component scanning in the test
+    // contexts never picks it up
+    private static RouterFunction<ServerResponse> slowQueryRoute(JdbcTemplate jdbcTemplate,
+                                                                 PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return RouterFunctions.route().GET("/bench/slow-query", request -> {
+            int latency = Integer.parseInt(request.param("latencyMs").orElse("0"));
+            readOnly.executeWithoutResult(status -> jdbcTemplate.queryForList("CALL SLEEP_MS(?)", latency));
+            return ServerResponse.ok().body("ok");
+        }).build();
+    }
+}
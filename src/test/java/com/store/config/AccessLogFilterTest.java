@@ -0,0 +1,155 @@
+package com.store.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AccessLogFilterTest {
+
+    private final AccessLogger accessLogger = mock(AccessLogger.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Stands in for HTTP Basic: authenticates whoever the X-Test-User header names
+        Filter authentication = (request, response, chain) -> {
+            String user = ((HttpServletRequest) request).getHeader("X-Test-User");
+            if (user != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, List.of()));
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+            .addFilters(authentication, new AccessLogFilter(accessLogger))
+            .build();
+    }
+
+    @Test
+    void filter_ShouldLogTheUserAndStatus_OfASynchronousRequest() throws Exception {
+        // When
+        mockMvc.perform(get("/things/1").header("X-Test-User", "admin")).andExpect(status().isOk());
+        mockMvc.perform(get("/things/0")).andExpect(status().isNotFound());
+
+        // Then
+        verify(accessLogger).log(eq("GET"), eq("/things/1"), eq(200), anyLong(), eq("admin"), any());
+        verify(accessLogger).log(eq("GET"), eq("/things/0"), eq(404), anyLong(), isNull(), any());
+        verifyNoMoreInteractions(accessLogger);
+    }
+
+    @Test
+    void filter_ShouldLogAnAsyncRequest_OnlyWhenItCompletes() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/things/async").header("X-Test-User", "user"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        verifyNoInteractions(accessLogger);
+
+        // When
+        asyncContext(result).complete();
+
+        // Then
+        verify(accessLogger).log(eq("GET"), eq("/things/async"), eq(200), anyLong(), eq("user"), any());
+        verifyNoMoreInteractions(accessLogger);
+    }
+
+    @Test
+    void filter_ShouldLogATimeoutOnce_As503_WhenNothingWasSent() throws Exception {
+        // Given
+        MvcResult result = mockMvc.perform(get("/things/async")).andReturn();
+        MockAsyncContext asyncContext = asyncContext(result);
+
+        // When: the container reports the timeout, then completes the request
+        accessLogListener(asyncContext).onTimeout(new AsyncEvent(asyncContext));
+        asyncContext.complete();
+
+        // Then
+        verify(accessLogger).log(eq("GET"), eq("/things/async"), eq(503), anyLong(), isNull(), any(), eq("timeout"));
+        verifyNoMoreInteractions(accessLogger);
+    }
+
+    @Test
+    void filter_ShouldKeepTheCommittedStatus_OfAStreamThatTimesOutOrIsAborted() throws Exception {
+        // Given: two streams that already sent their 200
+        MvcResult timedOut = mockMvc.perform(get("/things/async")).andReturn();
+        MvcResult aborted = mockMvc.perform(get("/things/async")).andReturn();
+        ((MockHttpServletResponse) asyncContext(timedOut).getResponse()).setCommitted(true);
+        ((MockHttpServletResponse) asyncContext(aborted).getResponse()).setCommitted(true);
+
+        // When
+        accessLogListener(asyncContext(timedOut)).onTimeout(new AsyncEvent(asyncContext(timedOut)));
+        accessLogListener(asyncContext(aborted)).onError(
+            new AsyncEvent(asyncContext(aborted), new IOException("Broken pipe")));
+
+        // Then
+        verify(accessLogger).log(eq("GET"), eq("/things/async"), eq(200), anyLong(), isNull(), any(), eq("timeout"));
+        verify(accessLogger).log(eq("GET"), eq("/things/async"), eq(200), anyLong(), isNull(), any(),
+            eq("client_abort"));
+        verifyNoMoreInteractions(accessLogger);
+    }
+
+    private static MockAsyncContext asyncContext(MvcResult result) {
+        return (MockAsyncContext) result.getRequest().getAsyncContext();
+    }
+
+    // The filter adds its listener after the chain returns, so after Spring MVC's own
+    private static AsyncListener accessLogListener(MockAsyncContext asyncContext) {
+        List<AsyncListener> listeners = asyncContext.getListeners();
+        return listeners.get(listeners.size() - 1);
+    }
+
+    // Registered with standaloneSetup only; no stereotype annotation, so component scanning skips it
+    static class TestController {
+
+        @GetMapping("/things/{id}")
+        @ResponseBody
+        String thing(@PathVariable int id) {
+            if (id == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
+            return "thing " + id;
+        }
+
+        @GetMapping("/things/async")
+        @ResponseBody
+        DeferredResult<String> async() {
+            return new DeferredResult<>();
+        }
+    }
+}
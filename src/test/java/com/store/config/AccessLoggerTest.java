@@ -0,0 +1,54 @@
+package com.store.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLoggerTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void reason_ShouldAlwaysLogErrorsAndSlowRequests_EvenWhenNothingIsSampled() {
+        AccessLogger accessLogger = new AccessLogger(true, 0.0, Duration.ofMillis(500));
+
+        assertThat(accessLogger.reason(200, FAST)).isNull();
+        assertThat(accessLogger.reason(304, FAST)).isNull();
+        assertThat(accessLogger.reason(404, FAST)).isEqualTo("error");
+        assertThat(accessLogger.reason(503, FAST)).isEqualTo("error");
+        assertThat(accessLogger.reason(200, SLOW)).isEqualTo("slow");
+    }
+
+    @Test
+    void reason_ShouldSampleSuccessfulRequestsAtTheConfiguredRate() {
+        AccessLogger everything = new AccessLogger(true, 1.0, Duration.ofMillis(500));
+        AccessLogger tenth = new AccessLogger(true, 0.1, Duration.ofMillis(500));
+
+        long sampled = IntStream.range(0, 10_000).filter(i -> tenth.reason(200, FAST) != null).count();
+
+        assertThat(everything.reason(200, FAST)).isEqualTo("sampled");
+        assertThat(sampled).isBetween(700L, 1300L);
+    }
+
+    @Test
+    void constructor_ShouldRejectSampleRateOutsideZeroToOne() {
+        assertThatThrownBy(() -> new AccessLogger(true, 1.5, Duration.ofMillis(500)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void format_ShouldWriteOneLogfmtLine_QuotingValuesThatNeedIt() {
+        String line = AccessLogger.format("GET", "/api/products/search", 200, 1_234_567, "admin", "abc-123", "sampled");
+        String odd = AccessLogger.format("GET", "/api/a b", 401, 1_000, null, "say \"hi\"", "error");
+
+        assertThat(line).isEqualTo(
+            "method=GET path=/api/products/search status=200 duration_us=1234 user=admin request_id=abc-123 reason=sampled");
+        assertThat(odd).isEqualTo(
+            "method=GET path=\"/api/a b\" status=401 duration_us=1 user=- request_id=\"say \\\"hi\\\"\" reason=error");
+    }
+}
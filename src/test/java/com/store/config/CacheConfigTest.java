@@ -0,0 +1,88 @@
+package com.store.config;
+
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CacheConfigTest {
+
+    private final ObjectProvider<ProductRepository> noRepository =
+        new StaticListableBeanFactory().getBeanProvider(ProductRepository.class);
+
+    @Test
+    void cacheManager_ShouldBoundConfiguredCacheByApproximateEntryWeight() {
+        // Arrange
+        CacheProperties properties = new CacheProperties(null, Map.of(CacheConfig.PRODUCTS_CACHE,
+            new CacheProperties.Spec(null, DataSize.ofKilobytes(10), Duration.ofHours(1), null)));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, noRepository);
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+
+        // Act
+        for (long id = 0; id < 1000; id++) {
+            cache.put(id, new Product("Product " + id, BigDecimal.ONE));
+        }
+        cache.getNativeCache().cleanUp();
+
+        // Assert
+        long weightedSize = cache.getNativeCache().policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertThat(weightedSize).isLessThanOrEqualTo(DataSize.ofKilobytes(10).toBytes());
+        assertThat(cache.getNativeCache().estimatedSize()).isLessThan(1000);
+    }
+
+    @Test
+    void cacheManager_ShouldUseDefaultsForUnconfiguredCaches() {
+        CacheProperties properties = new CacheProperties(
+            new CacheProperties.Spec(5L, null, null, null), Map.of());
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, noRepository);
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache("other");
+
+        assertThat(cache.getNativeCache().policy().eviction().orElseThrow().getMaximum()).isEqualTo(5);
+    }
+
+    @Test
+    void lookup_ShouldNotRunTheLoader_OnAMiss() {
+        // Arrange
+        ProductRepository repository = mock(ProductRepository.class);
+        CacheProperties properties = new CacheProperties(null, Map.of(CacheConfig.PRODUCTS_CACHE,
+            new CacheProperties.Spec(100L, null, Duration.ofHours(1), Duration.ofMinutes(5))));
+        ObjectProvider<ProductRepository> provider =
+            new StaticListableBeanFactory(Map.of("productRepository", repository)).getBeanProvider(ProductRepository.class);
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, provider);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+
+        // Act
+        Cache.ValueWrapper missing = cache.get(42L);
+        Product missingProduct = cache.get(42L, Product.class);
+
+        // Assert
+        assertThat(missing).isNull();
+        assertThat(missingProduct).isNull();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void cacheManager_ShouldRejectRefreshAfterWrite_WhenCacheHasNoLoader() {
+        CacheProperties properties = new CacheProperties(null, Map.of("other",
+            new CacheProperties.Spec(100L, null, null, Duration.ofMinutes(1))));
+
+        assertThatThrownBy(() -> new CacheConfig().cacheManager(properties, noRepository))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no loader");
+    }
+}
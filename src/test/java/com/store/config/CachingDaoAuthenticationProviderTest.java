@@ -0,0 +1,100 @@
+package com.store.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingDaoAuthenticationProviderTest {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private InMemoryUserDetailsManager userDetailsManager;
+    private CachingDaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsManager = new InMemoryUserDetailsManager(User.builder()
+            .username("user")
+            .password(passwordEncoder.encode("userpass"))
+            .roles("USER")
+            .build());
+        provider = new CachingDaoAuthenticationProvider(passwordEncoder, 100, Duration.ofMinutes(5));
+        provider.setUserDetailsService(userDetailsManager);
+    }
+
+    @Test
+    void authenticate_ShouldServeRepeatedCredentialsFromCache() {
+        Authentication first = provider.authenticate(token("user", "userpass"));
+        Authentication second = provider.authenticate(token("user", "userpass"));
+
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(provider.getMissCount()).isEqualTo(1);
+        assertThat(provider.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_ShouldRejectWrongPassword_EvenAfterSuccessfulLogin() {
+        provider.authenticate(token("user", "userpass"));
+
+        assertThatThrownBy(() -> provider.authenticate(token("user", "wrongpass")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(provider.getHitCount()).isZero();
+    }
+
+    @Test
+    void authenticate_ShouldMissCache_WhenPasswordChanges() {
+        provider.authenticate(token("user", "userpass"));
+
+        userDetailsManager.updateUser(User.builder()
+            .username("user")
+            .password(passwordEncoder.encode("newpass"))
+            .roles("USER")
+            .build());
+
+        assertThatThrownBy(() -> provider.authenticate(token("user", "userpass")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(provider.authenticate(token("user", "newpass")).isAuthenticated()).isTrue();
+        assertThat(provider.getHitCount()).isZero();
+    }
+
+    @Test
+    void authenticate_ShouldMissCache_WhenRolesChange() {
+        provider.authenticate(token("user", "userpass"));
+
+        userDetailsManager.updateUser(User.withUserDetails(userDetailsManager.loadUserByUsername("user"))
+            .roles("USER", "ADMIN")
+            .build());
+
+        Authentication authentication = provider.authenticate(token("user", "userpass"));
+        assertThat(authentication.getAuthorities()).hasSize(2);
+        assertThat(provider.getHitCount()).isZero();
+        assertThat(provider.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_ShouldDropCachedCredentialsOfUser() {
+        provider.authenticate(token("user", "userpass"));
+        assertThat(provider.getCachedCredentialCount()).isEqualTo(1);
+
+        provider.invalidate("user");
+        provider.authenticate(token("user", "userpass"));
+
+        assertThat(provider.getHitCount()).isZero();
+        assertThat(provider.getMissCount()).isEqualTo(2);
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,28 @@
+package com.store.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestQueryCounterTest {
+
+    private final RequestQueryCounter counter = new RequestQueryCounter();
+
+    @Test
+    void stop_ShouldReturnCountsRecordedSinceStart() {
+        // Given
+        counter.inspect("select 1");
+        RequestQueryCounter.start();
+
+        // When
+        assertThat(counter.inspect("select 2")).isEqualTo("select 2");
+        counter.inspect("select 3");
+        counter.onLoad(new Object(), (Object) 1L, null, null, null);
+        RequestQueryCounter.Counts counts = RequestQueryCounter.stop();
+
+        // Then
+        assertThat(counts).isEqualTo(new RequestQueryCounter.Counts(2, 1));
+        counter.inspect("select 4");
+        assertThat(RequestQueryCounter.stop()).isEqualTo(new RequestQueryCounter.Counts(0, 0));
+    }
+}
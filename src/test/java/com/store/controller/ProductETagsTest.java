@@ -0,0 +1,55 @@
+package com.store.controller;
+
+import com.store.TestProducts;
+import com.store.dto.CompactProduct;
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductETagsTest {
+
+    @Test
+    void of_ShouldTagProductWithIdAndVersion() {
+        assertThat(ProductETags.of(product(7L, 3))).isEqualTo("\"7-3\"");
+    }
+
+    @Test
+    void of_ShouldChangeListTag_WhenAnyListedVersionChanges() {
+        // Arrange
+        List<CompactProduct> before = List.of(compact(1L, 0), compact(2L, 0));
+        List<CompactProduct> after = List.of(compact(1L, 0), compact(2L, 1));
+
+        // Act & Assert
+        assertThat(ProductETags.of(before, 0, 10)).isEqualTo(ProductETags.of(List.of(compact(1L, 0), compact(2L, 0)), 0, 10));
+        assertThat(ProductETags.of(before, 0, 10)).isNotEqualTo(ProductETags.of(after, 0, 10));
+        assertThat(ProductETags.of(before, 0, 10)).isNotEqualTo(ProductETags.of(before, 0, 20));
+    }
+
+    @Test
+    void expectedVersion_ShouldParseOwnTagAndWildcard() {
+        assertThat(ProductETags.expectedVersion("\"7-3\"", 7L)).isEqualTo(3);
+        assertThat(ProductETags.expectedVersion(" * ", 7L)).isNull();
+    }
+
+    @Test
+    void expectedVersion_ShouldRejectForeignWeakOrMalformedTags() {
+        for (String header : List.of("\"8-3\"", "W/\"7-3\"", "\"7-\"", "\"7-x\"", "\"7-3\", \"7-4\"", "7-3")) {
+            assertThatThrownBy(() -> ProductETags.expectedVersion(header, 7L))
+                .as(header)
+                .isInstanceOf(InvalidRequestException.class);
+        }
+    }
+
+    private static CompactProduct compact(Long id, int version) {
+        return CompactProduct.from(product(id, version));
+    }
+
+    private static Product product(long id, int version) {
+        return TestProducts.product(id, "Product " + id, "1.00", version);
+    }
+}
@@ -0,0 +1,45 @@
+package com.store.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.store.config.CacheConfig;
+import com.store.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.store.TestProducts.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonCacheTest {
+
+    private final ProductJsonCache productJsonCache = new ProductJsonCache(
+        new CaffeineCacheManager(CacheConfig.PRODUCT_JSON_CACHE),
+        new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Test
+    void render_ShouldReuseBytes_WhileVersionIsUnchanged() {
+        // Arrange
+        Product product = product(7L, "Widget", "9.99", 1);
+
+        // Act
+        byte[] first = productJsonCache.render(product);
+        byte[] second = productJsonCache.render(product);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"id\":7", "\"name\":\"Widget\"", "\"price\":9.99");
+    }
+
+    @Test
+    void render_ShouldRenderAgain_WhenVersionChanges() {
+        byte[] before = productJsonCache.render(product(7L, "Widget", "9.99", 1));
+
+        byte[] after = productJsonCache.render(product(7L, "Widget", "4.50", 2));
+
+        assertThat(new String(before, StandardCharsets.UTF_8)).contains("\"price\":9.99");
+        assertThat(new String(after, StandardCharsets.UTF_8)).contains("\"price\":4.50", "\"version\":2");
+    }
+}
@@ -0,0 +1,48 @@
+package com.store.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.store.TestProducts;
+import com.store.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactProductTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void serialize_ShouldMatchProductResponse() throws Exception {
+        for (String price : List.of("95.00", "12.5", "7", "0.00", "0.05", "10.10", "12345678.99")) {
+            // Arrange
+            Product product = product(42L, "Credit \"Card\"", price);
+
+            // Act
+            String compact = objectMapper.writeValueAsString(CompactProduct.from(product));
+
+            // Assert
+            assertThat(compact).as(price).isEqualTo(objectMapper.writeValueAsString(ProductResponse.from(product)));
+        }
+    }
+
+    @Test
+    void from_ShouldRoundToCents_LikeTheDatabaseColumn() {
+        CompactProduct compact = CompactProduct.from(product(1L, "Widget", "10.995"));
+
+        assertThat(compact.priceCents()).isEqualTo(1100);
+        assertThat(compact.price()).isEqualTo(new BigDecimal("11.00"));
+        assertThat(CompactProduct.from(product(1L, "Widget", "12.5")).price()).isEqualTo(new BigDecimal("12.5"));
+    }
+
+    private static Product product(long id, String name, String price) {
+        return TestProducts.product(id, name, price, 3, Instant.parse("2024-05-01T10:15:30.123Z"));
+    }
+}
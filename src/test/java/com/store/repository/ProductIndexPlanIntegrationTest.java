@@ -0,0 +1,114 @@
+package com.store.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the listing queries, written the way Hibernate generates them, so that dropping or
+ * reordering an index cannot silently bring back a sort of the whole table. "index sorted" in
+ * an H2 plan means rows are read in index order and the scan stops at the limit.
+ */
+@SpringBootTest
+class ProductIndexPlanIntegrationTest {
+
+    private static final Map<ProductSortField, String> COLUMNS = Map.of(
+        ProductSortField.ID, "id",
+        ProductSortField.NAME, "name",
+        ProductSortField.PRICE, "price",
+        ProductSortField.UPDATED_AT, "updated_at");
+
+    // A cursor position per field, as literals so the planner sees them like bound parameters
+    private static final Map<ProductSortField, String> KEYS = Map.of(
+        ProductSortField.ID, "5",
+        ProductSortField.NAME, "'M'",
+        ProductSortField.PRICE, "10.00",
+        ProductSortField.UPDATED_AT, "TIMESTAMP '2024-01-01 00:00:00'");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pageQueries_ShouldReadAnIndexInSortOrder_ForEverySortableField() {
+        for (ProductSortField field : ProductSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                // Act
+                String plan = explain("SELECT * FROM products WHERE deleted = FALSE ORDER BY " + orderBy(field, direction)
+                    + " OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY");
+
+                // Assert
+                assertThat(plan).as("%s %s: %s", field, direction, plan)
+                    .contains("/* index sorted */")
+                    .doesNotContain("tableScan");
+            }
+        }
+    }
+
+    @Test
+    void cursorQueries_ShouldStartTheIndexScanAtTheCursor() {
+        for (ProductSortField field : ProductSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                // Arrange: the seek predicate of ProductRepositoryImpl.findNextByKeyset
+                String column = COLUMNS.get(field);
+                String from = direction.isAscending() ? ">=" : "<=";
+                String after = direction.isAscending() ? ">" : "<";
+                String key = KEYS.get(field);
+                String seek = field == ProductSortField.ID
+                    ? "id " + after + " 5"
+                    : column + " " + from + " " + key + " AND (" + column + " " + after + " " + key
+                        + " OR (" + column + " = " + key + " AND id " + after + " 5))";
+                String bound = field == ProductSortField.ID ? after : from;
+
+                // Act
+                String plan = explain("SELECT * FROM products WHERE deleted = FALSE AND " + seek
+                    + " ORDER BY " + orderBy(field, direction) + " FETCH FIRST 10 ROWS ONLY");
+
+                // Assert: the bound is an index condition, not only a filter
+                assertThat(plan).as("%s %s: %s", field, direction, plan)
+                    .contains("/* index sorted */")
+                    .containsPattern("/\\* PUBLIC\\.\\w+: [^*]*" + column.toUpperCase() + " " + bound);
+            }
+        }
+    }
+
+    @Test
+    void priceRangeQueries_ShouldUseThePriceIndex() {
+        String range = "deleted = FALSE AND price >= 10.00 AND price <= 20.00";
+
+        String byPrice = explain("SELECT * FROM products WHERE " + range + " ORDER BY price DESC, id DESC FETCH FIRST 10 ROWS ONLY");
+        String byName = explain("SELECT * FROM products WHERE " + range + " ORDER BY name, id FETCH FIRST 10 ROWS ONLY");
+        String count = explain("SELECT COUNT(*) FROM products WHERE " + range);
+
+        assertThat(byPrice).contains("IDX_PRODUCT_PRICE_DESC: PRICE", "/* index sorted */");
+        assertThat(byName).contains("IDX_PRODUCT_PRICE");
+        assertThat(count).contains("IDX_PRODUCT_PRICE");
+    }
+
+    @Test
+    void changesQuery_ShouldReadTheUpdatedAtIndexInOrder() {
+        // ProductRepository.findChangedAfter, which also returns deleted rows
+        String plan = explain("SELECT * FROM products WHERE updated_at >= TIMESTAMP '2024-01-01 00:00:00' "
+            + "AND (updated_at > TIMESTAMP '2024-01-01 00:00:00' OR id > 5) "
+            + "AND updated_at < TIMESTAMP '2030-01-01 00:00:00' ORDER BY updated_at, id LIMIT 100");
+
+        assertThat(plan).contains("IDX_PRODUCT_UPDATED_AT: UPDATED_AT", "/* index sorted */");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    // Sorts other than by id end with the id, as ProductService adds it
+    private static String orderBy(ProductSortField field, Sort.Direction direction) {
+        String column = COLUMNS.get(field);
+        return field == ProductSortField.ID
+            ? column + " " + direction
+            : column + " " + direction + ", id " + direction;
+    }
+}
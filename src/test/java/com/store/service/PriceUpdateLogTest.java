@@ -0,0 +1,58 @@
+package com.store.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceUpdateLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_ShouldReturnAcceptedButUnresolvedEntriesInOrder_AndIgnoreATornLastLine() throws Exception {
+        // Given
+        Path path = directory.resolve("price-updates.log");
+        try (PriceUpdateLog log = PriceUpdateLog.open(path, false, new ArrayList<>())) {
+            log.append(new PriceUpdateLog.Entry("t1", 1L, new BigDecimal("10.00"), null));
+            log.append(new PriceUpdateLog.Entry("t2", 2L, new BigDecimal("20.00"), 3));
+            log.append(new PriceUpdateLog.Entry("t3", 1L, new BigDecimal("11.00"), null));
+            log.markDone(List.of("t1"));
+        }
+        Files.writeString(path, "A|t4|4|4", StandardOpenOption.APPEND);   // Crash mid-record
+
+        // When
+        List<PriceUpdateLog.Entry> unresolved = new ArrayList<>();
+        PriceUpdateLog.open(path, false, unresolved).close();
+
+        // Then
+        assertThat(unresolved).containsExactly(
+            new PriceUpdateLog.Entry("t2", 2L, new BigDecimal("20.00"), 3),
+            new PriceUpdateLog.Entry("t3", 1L, new BigDecimal("11.00"), null));
+        // Compacted down to the unresolved entries
+        assertThat(Files.readAllLines(path)).containsExactly("A|t2|2|20.00|3", "A|t3|1|11.00|-");
+    }
+
+    @Test
+    void truncate_ShouldLeaveNothingToReplay() throws Exception {
+        Path path = directory.resolve("price-updates.log");
+        try (PriceUpdateLog log = PriceUpdateLog.open(path, true, new ArrayList<>())) {
+            log.append(new PriceUpdateLog.Entry("t1", 1L, BigDecimal.ONE, null));
+            log.truncate();
+        }
+
+        List<PriceUpdateLog.Entry> unresolved = new ArrayList<>();
+        PriceUpdateLog.open(path, false, unresolved).close();
+
+        assertThat(unresolved).isEmpty();
+        assertThat(Files.size(path)).isZero();
+    }
+}
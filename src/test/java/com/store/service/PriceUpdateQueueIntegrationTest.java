@@ -0,0 +1,96 @@
+package com.store.service;
+
+import com.store.dto.PriceUpdateStatus;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the queue writes in its own transactions. The long interval leaves flushing to the test.
+@SpringBootTest(properties = {
+    "store.price-updates.write-behind.enabled=true",
+    "store.price-updates.write-behind.flush-interval=1h",
+    "store.price-updates.write-behind.log-path=target/test-price-updates.log"
+})
+class PriceUpdateQueueIntegrationTest {
+
+    @Autowired
+    private PriceUpdateQueue priceUpdateQueue;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void flush_ShouldCoalesceUpdatesOfTheSameProduct_IntoOneWrite() {
+        // Given
+        Product product = productService.addProduct(new Product("Queued Product", new BigDecimal("1.00")));
+        createdIds.add(product.getId());
+        PriceUpdateStatus first = priceUpdateQueue.submit(product.getId(), new BigDecimal("2.00"), null);
+        PriceUpdateStatus second = priceUpdateQueue.submit(product.getId(), new BigDecimal("3.00"), null);
+        PriceUpdateStatus last = priceUpdateQueue.submit(product.getId(), new BigDecimal("4.00"), product.getVersion());
+        assertThat(last.state()).isEqualTo(PriceUpdateStatus.State.PENDING);
+
+        // When
+        priceUpdateQueue.flush();
+
+        // Then
+        assertThat(priceUpdateQueue.getStatus(first.token()).orElseThrow().state()).isEqualTo(PriceUpdateStatus.State.SUPERSEDED);
+        assertThat(priceUpdateQueue.getStatus(second.token()).orElseThrow().state()).isEqualTo(PriceUpdateStatus.State.SUPERSEDED);
+        PriceUpdateStatus applied = priceUpdateQueue.getStatus(last.token()).orElseThrow();
+        assertThat(applied.state()).isEqualTo(PriceUpdateStatus.State.APPLIED);
+        assertThat(applied.version()).isEqualTo(product.getVersion() + 1);
+
+        Product stored = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.getPrice()).isEqualByComparingTo("4.00");
+        assertThat(stored.getVersion()).isEqualTo(product.getVersion() + 1);
+        // The cached copy was evicted, so reads see the written state
+        assertThat(productService.getProductById(product.getId()).getVersion()).isEqualTo(stored.getVersion());
+    }
+
+    @Test
+    void flush_ShouldReportConflict_WhenExpectedVersionIsStale_AndRetryUnversionedUpdates() {
+        // Given
+        List<Product> products = productService.addProducts(List.of(
+            new Product("Queued A", new BigDecimal("1.00")),
+            new Product("Queued B", new BigDecimal("1.00"))));
+        products.forEach(product -> createdIds.add(product.getId()));
+        Product a = products.get(0);
+        Product b = products.get(1);
+        PriceUpdateStatus stale = priceUpdateQueue.submit(a.getId(), new BigDecimal("5.00"), a.getVersion() + 5);
+        PriceUpdateStatus unversioned = priceUpdateQueue.submit(b.getId(), new BigDecimal("6.00"), null);
+        // B moves on behind the queue's back, so its cached version is stale at flush time
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            productRepository.updatePriceIfVersion(b.getId(), new BigDecimal("1.50"), b.getVersion(), b.getUpdatedAt()));
+
+        // When
+        priceUpdateQueue.flush();
+
+        // Then
+        assertThat(priceUpdateQueue.getStatus(stale.token()).orElseThrow().state()).isEqualTo(PriceUpdateStatus.State.CONFLICT);
+        assertThat(priceUpdateQueue.getStatus(unversioned.token()).orElseThrow().state()).isEqualTo(PriceUpdateStatus.State.APPLIED);
+        assertThat(productRepository.findById(b.getId()).orElseThrow().getPrice()).isEqualByComparingTo("6.00");
+    }
+}
@@ -0,0 +1,133 @@
+package com.store.service;
+
+import com.store.dto.ArchiveRunStatus;
+import com.store.dto.ChangeSet;
+import com.store.exception.ProductNotFoundException;
+import com.store.model.ArchivedProduct;
+import com.store.model.Product;
+import com.store.repository.ArchivedProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: every batch commits on its own. Batches of one row force several per run.
+@SpringBootTest(properties = {
+    "store.archive.enabled=false",
+    "store.archive.retention=30d",
+    "store.archive.batch-size=1",
+    "store.archive.batch-pause=0ms",
+    "store.products.changes.settle-time=0s"
+})
+class ProductArchiverIntegrationTest {
+
+    @Autowired
+    private ProductArchiver productArchiver;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ArchivedProductRepository archivedProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // Soft-deleted rows are hidden from the repository by @Where, so delete them with plain SQL
+        if (!createdIds.isEmpty()) {
+            String ids = String.join(",", createdIds.stream().map(String::valueOf).toList());
+            jdbcTemplate.update("DELETE FROM products WHERE id IN (" + ids + ")");
+        }
+        archivedProductRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyProductsDeletedBeforeTheRetention() {
+        // Given: two long-deleted products, one recently deleted and one old live product
+        List<Product> products = productService.addProducts(List.of(
+            new Product("Archive Old Deleted 1", new BigDecimal("10.00")),
+            new Product("Archive Old Deleted 2", new BigDecimal("20.00")),
+            new Product("Archive Recent Deleted", new BigDecimal("30.00")),
+            new Product("Archive Old Live", new BigDecimal("40.00"))));
+        products.forEach(product -> createdIds.add(product.getId()));
+        productService.softDeleteProduct(products.get(0).getId());
+        productService.softDeleteProduct(products.get(1).getId());
+        productService.softDeleteProduct(products.get(2).getId());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        backdate(products.get(0).getId(), now.minus(Duration.ofDays(41)));
+        backdate(products.get(1).getId(), now.minus(Duration.ofDays(40)));
+        backdate(products.get(3).getId(), now.minus(Duration.ofDays(39)));
+
+        // When
+        ArchiveRunStatus status = productArchiver.archive();
+
+        // Then
+        assertThat(status.error()).isNull();
+        assertThat(status.rowsMoved()).isEqualTo(2);
+        assertThat(status.batches()).isEqualTo(2);
+        assertThat(productArchiver.getRecentRuns()).first().isEqualTo(status);
+        assertThat(rowsInProducts(products)).isEqualTo(2);
+
+        ArchivedProduct archived = productArchiver.getArchivedProduct(products.get(0).getId());
+        assertThat(archived.getName()).isEqualTo("Archive Old Deleted 1");
+        assertThat(archived.getPrice()).isEqualByComparingTo("10.00");
+        assertThat(archived.getUpdatedAt()).isEqualTo(now.minus(Duration.ofDays(41)));
+        assertThat(archivedProductRepository.existsById(products.get(1).getId())).isTrue();
+        assertThatThrownBy(() -> productArchiver.getArchivedProduct(products.get(2).getId()))
+            .isInstanceOf(ProductNotFoundException.class);
+
+        // And a second run has nothing left to move
+        assertThat(productArchiver.archive().rowsMoved()).isZero();
+    }
+
+    @Test
+    void getChanges_ShouldStillReturnArchivedTombstones() {
+        // Given
+        List<Product> products = productService.addProducts(List.of(
+            new Product("Archive Sync Deleted", new BigDecimal("10.00")),
+            new Product("Archive Sync Live", new BigDecimal("20.00"))));
+        products.forEach(product -> createdIds.add(product.getId()));
+        productService.softDeleteProduct(products.get(0).getId());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        backdate(products.get(0).getId(), now.minus(Duration.ofDays(51)));
+        backdate(products.get(1).getId(), now.minus(Duration.ofDays(50)));
+        productArchiver.archive();
+        String since = new ProductChangeToken(now.minus(Duration.ofDays(52)), 0).encode();
+
+        // When
+        ChangeSet<Product> changes = productService.getChanges(since, 2);
+
+        // Then: the tombstone from the archive, then the live product, in (updatedAt, id) order
+        assertThat(changes.changes()).extracting(Product::getId)
+            .containsExactly(products.get(0).getId(), products.get(1).getId());
+        Product tombstone = changes.changes().get(0);
+        assertThat(tombstone.isDeleted()).isTrue();
+        assertThat(tombstone.getVersion()).isEqualTo(products.get(0).getVersion() + 1);
+        assertThat(tombstone.getUpdatedAt()).isEqualTo(now.minus(Duration.ofDays(51)));
+    }
+
+    private void backdate(Long id, Instant updatedAt) {
+        jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE id = ?", updatedAt.atOffset(ZoneOffset.UTC), id);
+    }
+
+    private int rowsInProducts(List<Product> products) {
+        String ids = String.join(",", products.stream().map(product -> product.getId().toString()).toList());
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE id IN (" + ids + ")", Integer.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.store.service;
+
+import com.store.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: events are only pushed after commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductChangeFeedIntegrationTest {
+
+    private record Event(String id, String name, String data) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<CompletableFuture<?>> streams = new ArrayList<>();
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(stream -> stream.cancel(true));
+        // The deleted product is a tombstone the repository can't see (@Where), so go through SQL
+        if (!createdIds.isEmpty()) {
+            String ids = String.join(",", createdIds.stream().map(String::valueOf).toList());
+            jdbcTemplate.update("DELETE FROM products WHERE id IN (" + ids + ")");
+        }
+    }
+
+    @Test
+    void stream_ShouldPushCommittedChanges_AndResumeFromLastEventId() throws Exception {
+        // Given
+        BlockingQueue<String> lines = open(null);
+        awaitLine(lines, ":connected");
+
+        // When
+        Product product = productService.addProduct(new Product("Feed Product", new BigDecimal("10.00")));
+        createdIds.add(product.getId());
+        productService.updatePrice(product.getId(), new BigDecimal("12.50"), null);
+        productService.softDeleteProduct(product.getId());
+
+        // Then
+        Event created = nextEvent(lines);
+        Event priceChanged = nextEvent(lines);
+        Event deleted = nextEvent(lines);
+        assertThat(created.name()).isEqualTo("created");
+        assertThat(created.data()).contains("\"id\":" + product.getId(), "\"name\":\"Feed Product\"");
+        assertThat(priceChanged.name()).isEqualTo("price-changed");
+        assertThat(priceChanged.data()).contains("\"price\":12.5");
+        assertThat(deleted.name()).isEqualTo("deleted");
+
+        // And: a client that only saw the first event gets the other two on reconnect
+        BlockingQueue<String> resumed = open(created.id());
+        assertThat(nextEvent(resumed)).isEqualTo(priceChanged);
+        assertThat(nextEvent(resumed)).isEqualTo(deleted);
+    }
+
+    @Test
+    void stream_ShouldAskForResync_WhenLastEventIdIsUnknown() throws Exception {
+        BlockingQueue<String> lines = open("previous-process-42");
+
+        assertThat(nextEvent(lines).name()).isEqualTo("reset");
+    }
+
+    private BlockingQueue<String> open(String lastEventId) {
+        String credentials = Base64.getEncoder().encodeToString("user:userpass".getBytes(StandardCharsets.UTF_8));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/stream"))
+            .header("Authorization", "Basic " + credentials)
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        CompletableFuture<HttpResponse<Stream<String>>> response =
+            httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines());
+        streams.add(response.thenAcceptAsync(r -> r.body().forEach(lines::add)));
+        streams.add(response);
+        return lines;
+    }
+
+    private static Event nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        String id = null;
+        String name = null;
+        String data = null;
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("next line of the event stream").isNotNull();
+            if (line.isEmpty() && data != null) {
+                return new Event(id, name, data);
+            } else if (line.startsWith("id:")) {
+                id = line.substring(3);
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6);
+            } else if (line.startsWith("data:")) {
+                data = line.substring(5);
+            }
+        }
+    }
+
+    private static void awaitLine(BlockingQueue<String> lines, String expected) throws InterruptedException {
+        String line;
+        do {
+            line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("line " + expected).isNotNull();
+        } while (!line.equals(expected));
+    }
+}
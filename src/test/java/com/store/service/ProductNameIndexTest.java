@@ -0,0 +1,72 @@
+package com.store.service;
+
+import com.store.TestProducts;
+import com.store.dto.CompactProduct;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameIndexTest {
+
+    @Test
+    void search_ShouldMatchSubstrings_AndRankExactThenPrefixThenWordStartThenInfix() {
+        // Arrange
+        ProductNameIndex index = new ProductNameIndex();
+        index.put(product(1, "Business Card", 0));
+        index.put(product(2, "Card", 0));
+        index.put(product(3, "Cardholder Insurance", 0));
+        index.put(product(4, "Discard Fee", 0));
+        index.put(product(5, "Savings Account", 0));
+
+        // Act
+        ProductNameIndex.Matches matches = index.search("CARD", 0, 10);
+
+        // Assert
+        assertThat(matches.total()).isEqualTo(4);
+        assertThat(matches.products()).extracting(CompactProduct::id).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(index.search("ings acc", 0, 10).products()).extracting(CompactProduct::id).containsExactly(5L);
+        assertThat(index.search("xyz", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_ShouldMatchWordStarts_ForShortQueries() {
+        // Arrange
+        ProductNameIndex index = new ProductNameIndex();
+        index.put(product(1, "Credit Card", 0));
+        index.put(product(2, "Secured Loan", 0));
+
+        // Act / Assert: "c" starts a word in 1 only; "cu" occurs in 2 but not at a word start
+        assertThat(index.search("c", 0, 10).products()).extracting(CompactProduct::id).containsExactly(1L);
+        assertThat(index.search("cu", 0, 10).total()).isZero();
+        assertThat(index.search("lo", 0, 10).products()).extracting(CompactProduct::id).containsExactly(2L);
+    }
+
+    @Test
+    void putAndRemove_ShouldKeepTheIndexCurrent_AcrossRebuilds() {
+        // Arrange
+        ProductNameIndex index = new ProductNameIndex();
+        LongStream.rangeClosed(1, 3000).forEach(id -> index.put(product(id, "Product " + id, 0)));
+
+        // Act: remove enough products to trigger a rebuild, and change a price
+        LongStream.rangeClosed(1, 2500).forEach(index::remove);
+        index.put(product(2999, "Product 2999", 1));
+        index.put(product(2999, "Product 2999", 0));   // Stale event, ignored
+
+        // Assert
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("product 25", 0, 100).products()).extracting(CompactProduct::id)
+            .doesNotContain(25L, 250L, 2500L)
+            .contains(2501L, 2599L);
+        assertThat(index.search("2999", 0, 1).products().get(0).version()).isEqualTo(1);
+        ProductNameIndex.Matches page = index.search("product", 10, 5);
+        assertThat(page.total()).isEqualTo(500);
+        assertThat(page.products()).hasSize(5);
+    }
+
+    private static CompactProduct product(long id, String name, int version) {
+        return CompactProduct.from(TestProducts.product(id, name, "1.00", version, Instant.EPOCH));
+    }
+}
@@ -0,0 +1,112 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+import com.store.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the snapshot only sees committed changes
+@SpringBootTest(properties = "store.read-engine.snapshot.enabled=true")
+class ProductReadEngineIntegrationTest {
+
+    @Autowired
+    private ProductReadEngine productReadEngine;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // deleteAllById would skip the soft-deleted product, so remove every created row directly
+        if (!createdIds.isEmpty()) {
+            String ids = String.join(",", createdIds.stream().map(String::valueOf).toList());
+            jdbcTemplate.update("DELETE FROM products WHERE id IN (" + ids + ")");
+        }
+    }
+
+    @Test
+    void snapshot_ShouldFollowCommittedCreateUpdateAndDelete() {
+        // Given
+        assertThat(productReadEngine.isServing()).isTrue();
+        Product created = productService.addProduct(new Product("Snapshot Product", new BigDecimal("10.00")));
+        createdIds.add(created.getId());
+        assertThat(productReadEngine.findById(created.getId())).isPresent();
+
+        // When
+        productService.updatePrice(created.getId(), new BigDecimal("12.50"), created.getVersion());
+
+        // Then
+        CompactProduct updated = productReadEngine.findById(created.getId()).orElseThrow();
+        assertThat(updated.price()).isEqualByComparingTo("12.50");
+        assertThat(updated.version()).isEqualTo(created.getVersion() + 1);
+
+        productService.softDeleteProduct(created.getId());
+        assertThat(productReadEngine.findById(created.getId())).isEmpty();
+    }
+
+    @Test
+    void snapshot_ShouldIgnoreRolledBackChanges() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Product created = transaction.execute(status -> {
+            Product product = productService.addProduct(new Product("Rolled Back", new BigDecimal("1.00")));
+            status.setRollbackOnly();
+            return product;
+        });
+
+        assertThat(productReadEngine.findById(created.getId())).isEmpty();
+    }
+
+    @Test
+    void findPage_ShouldMatchDatabaseOrdering() {
+        // Given
+        List<Product> created = productService.addProducts(List.of(
+            new Product("Snapshot B", new BigDecimal("2.00")),
+            new Product("Snapshot A", new BigDecimal("2.00")),
+            new Product("Snapshot C", new BigDecimal("1.00"))));
+        created.forEach(product -> createdIds.add(product.getId()));
+
+        for (String property : List.of("id", "name", "price", "updatedAt")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                PageRequest pageRequest = PageRequest.of(0, 1000, Sort.by(direction, property).and(Sort.by(direction, "id")));
+                PageRequest snapshotRequest = PageRequest.of(0, 1000, Sort.by(direction, property));
+
+                // When
+                Page<Product> fromDatabase = productService.getAllProducts(pageRequest);
+                Page<CompactProduct> fromSnapshot = productReadEngine.findPage(snapshotRequest).orElseThrow();
+
+                // Then
+                assertThat(fromSnapshot.getTotalElements()).isEqualTo(fromDatabase.getTotalElements());
+                assertThat(fromSnapshot.getContent()).extracting(CompactProduct::id)
+                    .as("%s %s", property, direction)
+                    .containsExactlyElementsOf(fromDatabase.getContent().stream().map(Product::getId).toList());
+            }
+        }
+    }
+
+    @Test
+    void findPage_ShouldDeclineUnsupportedSort() {
+        assertThat(productReadEngine.findPage(PageRequest.of(0, 10, Sort.by("createdAt")))).isEmpty();
+    }
+}
@@ -1,28 +1,41 @@
 package com.store.service;
 
+import com.store.config.CacheConfig;
+import com.store.dto.ChangeSet;
+import com.store.dto.CursorPage;
+import com.store.exception.InvalidRequestException;
 import com.store.exception.ProductNotFoundException;
 import com.store.exception.ProductVersionMismatchException;
 import com.store.model.Product;
+import com.store.repository.PriceRange;
 import com.store.repository.ProductRepository;
+import com.store.repository.ProductSortField;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest
+@SpringBootTest(properties = "store.products.changes.settle-time=0s")
 @ActiveProfiles("test")
 @Transactional
 public class ProductServiceIntegrationTest {
@@ -36,11 +49,21 @@ public class ProductServiceIntegrationTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductCounter productCounter;
+
+    @Autowired
+    private ProductExportService productExportService;
+
     @BeforeEach
     void setUp() {
-        // Clear existing data
+        // Clear existing data; cache entries outlive the rolled-back transactions of earlier tests
         productRepository.deleteAll();
         entityManager.flush();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
 
         // Create test products
         List<Product> products = List.of(
@@ -78,6 +101,64 @@ public class ProductServiceIntegrationTest {
         assertThat(retrievedProduct.getUpdatedAt()).isNotNull();
     }
 
+    // Batch Create Tests
+    @Test
+    void addProducts_ShouldPersistAllProductsAcrossChunks() {
+        // Arrange
+        List<Product> newProducts = IntStream.range(0, 1200)
+            .mapToObj(i -> new Product("Batch Product " + i, new BigDecimal("1.00")))
+            .toList();
+
+        // Act
+        List<Product> savedProducts = productService.addProducts(newProducts);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(savedProducts).hasSize(1200).allMatch(product -> product.getId() != null);
+        assertThat(savedProducts.stream().map(Product::getId).distinct()).hasSize(1200);
+        assertThat(productRepository.count()).isEqualTo(1205);
+        assertThat(productRepository.findById(savedProducts.get(1199).getId()).orElseThrow().getName())
+            .isEqualTo("Batch Product 1199");
+    }
+
+    @Test
+    void addProducts_ShouldPopulateProductsCache_OnceCommitted() {
+        // Act
+        List<Product> savedProducts = productService.addProducts(List.of(
+            new Product("Cached 1", new BigDecimal("1.00")),
+            new Product("Cached 2", new BigDecimal("2.00"))
+        ));
+        savedProducts.forEach(product -> assertThat(
+            cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(product.getId(), Product.class)).isNull());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // Assert
+        try {
+            savedProducts.forEach(product -> assertThat(
+                cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(product.getId(), Product.class))
+                .isSameAs(product));
+        } finally {
+            productRepository.deleteAllById(savedProducts.stream().map(Product::getId).toList());
+        }
+    }
+
+    @Test
+    void addProducts_ShouldNotCacheProducts_WhenTheTransactionRollsBack() {
+        // Act
+        List<Product> savedProducts = productService.addProducts(List.of(
+            new Product("Rolled Back 1", new BigDecimal("1.00")),
+            new Product("Rolled Back 2", new BigDecimal("2.00"))
+        ));
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        // Assert
+        savedProducts.forEach(product -> assertThat(
+            cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(product.getId(), Product.class)).isNull());
+    }
+
     // Get Product Tests
     @Test
     void getProductById_ShouldReturnPersistedProduct() {
@@ -222,6 +303,155 @@ public class ProductServiceIntegrationTest {
         assertThat(result.getContent().get(0).getName()).isEqualTo("Product 5");
     }
 
+    @Test
+    void getAllProducts_ShouldFilterByPriceRange() {
+        // When
+        Page<Product> result = productService.getAllProducts(
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price")), new PriceRange(new BigDecimal("20.00"), new BigDecimal("40")));
+
+        // Then
+        assertThat(result.getContent()).extracting(Product::getName).containsExactly("Product 4", "Product 3");
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(productService.getProductCount(new PriceRange(null, new BigDecimal("25")))).isEqualTo(2);
+    }
+
+    // Slice Tests
+    @Test
+    void getProductsSlice_ShouldReportHasNextWithoutTotals() {
+        // When
+        Slice<Product> first = productService.getProductsSlice(PageRequest.of(0, 2, Sort.by("name")));
+        Slice<Product> last = productService.getProductsSlice(PageRequest.of(2, 2, Sort.by("name")));
+
+        // Then
+        assertThat(first.getContent()).extracting(Product::getName).containsExactly("Product 1", "Product 2");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting(Product::getName).containsExactly("Product 5");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void getProductsSliceAndCursor_ShouldFilterByPriceRange() {
+        // Given
+        PriceRange fromThirty = new PriceRange(new BigDecimal("30.00"), null);
+
+        // When
+        Slice<Product> slice = productService.getProductsSlice(PageRequest.of(0, 2, Sort.by("name")), fromThirty);
+        CursorPage<Product> first = productService.getProductsByCursor(ProductSortField.NAME, Sort.Direction.ASC, null, 2, fromThirty);
+        CursorPage<Product> second = productService.getProductsByCursor(
+            ProductSortField.NAME, Sort.Direction.ASC, first.nextCursor(), 2, fromThirty);
+
+        // Then
+        assertThat(slice.getContent()).extracting(Product::getName).containsExactly("Product 3", "Product 4");
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(first.content()).extracting(Product::getName).containsExactly("Product 3", "Product 4");
+        assertThat(second.content()).extracting(Product::getName).containsExactly("Product 5");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void getProductCount_ShouldTrackCreatesAndDeletes() {
+        // Given
+        productCounter.recount();
+        assertThat(productService.getProductCount()).isEqualTo(5);
+        Product product = productRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        // When (transactional listeners only fire on commit, so deliver the events directly)
+        productCounter.onProductChange(ProductChangeEvent.created(product));
+        productCounter.onProductChange(ProductChangeEvent.created(product));
+        productCounter.onProductChange(ProductChangeEvent.deleted(product));
+        productCounter.onProductChange(ProductChangeEvent.priceChanged(product));
+
+        // Then
+        assertThat(productService.getProductCount()).isEqualTo(6);
+    }
+
+    // Cursor Pagination Tests
+    @Test
+    void getProductsByCursor_ShouldWalkWholeCatalogInSortOrder() {
+        // Given
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+
+        // When
+        do {
+            CursorPage<Product> page = productService.getProductsByCursor(
+                ProductSortField.NAME, Sort.Direction.ASC, cursor, 2);
+            page.content().forEach(product -> names.add(product.getName()));
+            cursor = page.nextCursor();
+            assertThat(page.hasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        // Then
+        assertThat(names).containsExactly("Product 1", "Product 2", "Product 3", "Product 4", "Product 5");
+    }
+
+    @Test
+    void getProductsByCursor_ShouldBreakTiesById_WhenSortingDescending() {
+        // Given
+        productRepository.save(new Product("Product 6", new BigDecimal("50.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        CursorPage<Product> first = productService.getProductsByCursor(
+            ProductSortField.PRICE, Sort.Direction.DESC, null, 1);
+        CursorPage<Product> second = productService.getProductsByCursor(
+            ProductSortField.PRICE, Sort.Direction.DESC, first.nextCursor(), 2);
+
+        // Then
+        assertThat(first.content()).extracting(Product::getName).containsExactly("Product 6");
+        assertThat(second.content()).extracting(Product::getName).containsExactly("Product 5", "Product 4");
+        assertThat(second.hasNext()).isTrue();
+    }
+
+    @Test
+    void getProductsByCursor_ShouldRejectCursorIssuedForAnotherSort() {
+        // Given
+        String cursor = productService.getProductsByCursor(ProductSortField.NAME, Sort.Direction.ASC, null, 1)
+            .nextCursor();
+
+        // When / Then
+        assertThatThrownBy(() -> productService.getProductsByCursor(ProductSortField.PRICE, Sort.Direction.ASC, cursor, 1))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> productService.getProductsByCursor(ProductSortField.NAME, Sort.Direction.ASC, "not-a-cursor", 1))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    // Export Tests
+    @Test
+    void export_ShouldStreamOneJsonLinePerProduct() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = productExportService.export(ProductExportService.ExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(5);
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"name\":\"Product 1\"");
+    }
+
+    @Test
+    void export_ShouldQuoteCsvFieldsContainingSeparators() throws Exception {
+        // Given
+        productRepository.save(new Product("Loan, \"special\"", new BigDecimal("1.50")));
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        productExportService.export(ProductExportService.ExportFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(7);
+        assertThat(lines[0]).isEqualTo("id,name,price,version,createdAt,updatedAt");
+        assertThat(lines[6]).contains(",\"Loan, \"\"special\"\"\",1.50,0,");
+    }
+
     // Soft Delete Tests
     @Test
     void softDeleteProduct_ShouldMarkProductAsDeleted() {
@@ -268,4 +498,46 @@ public class ProductServiceIntegrationTest {
             .isInstanceOf(ProductNotFoundException.class)
             .hasMessageContaining("Product not found with id: 999");
     }
-} 
\ No newline at end of file
+
+    // Delta Sync Tests
+    @Test
+    void getChanges_ShouldReturnUpdatesAndTombstonesAfterToken() {
+        // Arrange: sync everything so far
+        List<Product> synced = new ArrayList<>();
+        ChangeSet<Product> changes = productService.getChanges(null, 2);
+        synced.addAll(changes.changes());
+        while (changes.hasMore()) {
+            changes = productService.getChanges(changes.nextToken(), 2);
+            synced.addAll(changes.changes());
+        }
+        List<Product> products = productRepository.findAll(Sort.by("id"));
+        assertThat(synced).extracting(Product::getId)
+            .containsAll(products.stream().map(Product::getId).toList());
+        Product updated = products.get(0);
+        Product deleted = products.get(1);
+
+        // Act
+        productService.updatePrice(updated.getId(), new BigDecimal("11.00"), null);
+        productService.softDeleteProduct(deleted.getId());
+        entityManager.flush();
+        entityManager.clear();
+        ChangeSet<Product> delta = productService.getChanges(changes.nextToken(), 100);
+
+        // Assert
+        assertThat(delta.hasMore()).isFalse();
+        assertThat(delta.changes()).extracting(Product::getId).containsExactly(updated.getId(), deleted.getId());
+        assertThat(delta.changes().get(0).getPrice()).isEqualByComparingTo("11.00");
+        assertThat(delta.changes().get(0).getVersion()).isEqualTo(updated.getVersion() + 1);
+        assertThat(delta.changes().get(1).isDeleted()).isTrue();
+        assertThat(delta.changes().get(1).getVersion()).isEqualTo(deleted.getVersion() + 1);
+        assertThat(productService.getChanges(delta.nextToken(), 100).changes()).isEmpty();
+    }
+
+    @Test
+    void getChanges_ShouldRejectInvalidTokenAndLimit() {
+        assertThatThrownBy(() -> productService.getChanges("not-a-token", 10))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> productService.getChanges(null, 0))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+}
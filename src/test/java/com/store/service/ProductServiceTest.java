@@ -1,5 +1,8 @@
 package com.store.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.store.TestProducts;
+import com.store.config.CacheConfig;
 import com.store.exception.ProductNotFoundException;
 import com.store.exception.ProductVersionMismatchException;
 import com.store.model.Product;
@@ -12,12 +15,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +32,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +44,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ProductService productService;
 
@@ -86,6 +100,17 @@ class ProductServiceTest {
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
+    @Test
+    void addProduct_ShouldPublishCreatedEvent() {
+        logger.info("\n{}\n>>> TEST: addProduct_ShouldPublishCreatedEvent <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
+
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        productService.addProduct(testProduct);
+
+        verify(eventPublisher, times(1)).publishEvent(ProductChangeEvent.created(testProduct));
+    }
+
     @Test
     void getProductById_ShouldReturnProduct() {
         logger.info("\n{}\n>>> TEST: getProductById_ShouldReturnProduct <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
@@ -113,20 +138,83 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void getProductsByIds_ShouldLoadOnlyCacheMissesInOneQuery() {
+        logger.info("\n{}\n>>> TEST: getProductsByIds_ShouldLoadOnlyCacheMissesInOneQuery <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
+
+        CaffeineCache cache = new CaffeineCache(CacheConfig.PRODUCTS_CACHE, Caffeine.newBuilder().build());
+        cache.put(1L, testProduct);
+        Product loadedProduct = TestProducts.product(2L, "Loaded Product", "10.00", 0);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+        when(productRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(loadedProduct));
+
+        List<Product> products = productService.getProductsByIds(List.of(2L, 1L, 3L, 2L));
+
+        assertThat(products).containsExactly(loadedProduct, testProduct);
+        assertThat(cache.get(2L, Product.class)).isSameAs(loadedProduct);
+        verify(productRepository, times(1)).findAllById(List.of(2L, 3L));
+        verify(productRepository, never()).findById(any());
+    }
+
     @Test
     void updatePrice_ShouldReturnUpdatedProduct() {
         logger.info("\n{}\n>>> TEST: updatePrice_ShouldReturnUpdatedProduct <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
         
         BigDecimal newPrice = new BigDecimal("149.99");
+        testProduct.setVersion(0);
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.updatePriceIfVersion(eq(1L), eq(newPrice), eq(0), any(Instant.class))).thenReturn(1);
         
         Product updatedProduct = productService.updatePrice(1L, newPrice, null);
         
         assertThat(updatedProduct).isNotNull();
         assertThat(updatedProduct.getPrice()).isEqualTo(newPrice);
+        assertThat(updatedProduct.getVersion()).isEqualTo(1);
+        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangeEvent.class));
+    }
+
+    @Test
+    void updatePrice_ShouldUpdateWithoutLoading_WhenProductIsCached() {
+        logger.info("\n{}\n>>> TEST: updatePrice_ShouldUpdateWithoutLoading_WhenProductIsCached <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
+
+        // Given
+        testProduct.setVersion(4);
+        CaffeineCache cache = new CaffeineCache(CacheConfig.PRODUCTS_CACHE, Caffeine.newBuilder().build());
+        cache.put(1L, testProduct);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+        when(productRepository.updatePriceIfVersion(eq(1L), any(BigDecimal.class), eq(4), any(Instant.class))).thenReturn(1);
+
+        // When
+        Product updatedProduct = productService.updatePrice(1L, new BigDecimal("149.99"), 4);
+
+        // Then
+        assertThat(updatedProduct.getVersion()).isEqualTo(5);
+        assertThat(testProduct.getPrice()).isEqualByComparingTo("99.99");
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void updatePrice_ShouldRetryWithCurrentVersion_WhenUnversionedAndCacheIsStale() {
+        logger.info("\n{}\n>>> TEST: updatePrice_ShouldRetryWithCurrentVersion_WhenUnversionedAndCacheIsStale <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
+
+        // Given
+        Product stale = TestProducts.product(1L, "Test Product", "10.00", 0);
+        testProduct.setVersion(3);
+        CaffeineCache cache = new CaffeineCache(CacheConfig.PRODUCTS_CACHE, Caffeine.newBuilder().build());
+        cache.put(1L, stale);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+        when(productRepository.updatePriceIfVersion(eq(1L), any(BigDecimal.class), eq(0), any(Instant.class))).thenReturn(0);
+        when(productRepository.updatePriceIfVersion(eq(1L), any(BigDecimal.class), eq(3), any(Instant.class))).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // When
+        Product updatedProduct = productService.updatePrice(1L, new BigDecimal("149.99"), null);
+
+        // Then
+        assertThat(updatedProduct.getVersion()).isEqualTo(4);
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(any(Product.class));
     }
 
     @Test
@@ -140,7 +228,7 @@ class ProductServiceTest {
                 .hasMessageContaining("Product not found with id: 999");
         
         verify(productRepository, times(1)).findById(999L);
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).updatePriceIfVersion(any(), any(), any(), any());
     }
 
     @Test
@@ -152,10 +240,13 @@ class ProductServiceTest {
         
         assertThatThrownBy(() -> productService.updatePrice(1L, new BigDecimal("149.99"), 1))
                 .isInstanceOf(ProductVersionMismatchException.class)
-                .hasMessageContaining("Your version of product with id=1 is outdated");
+                .hasMessageContaining("Your version of product with id=1 is outdated")
+                .hasMessageContaining("Current version: 2");
         
+        // The one read already shows the stale version: no UPDATE and no second read
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).updatePriceIfVersion(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -185,9 +276,10 @@ class ProductServiceTest {
         logger.info("\n{}\n>>> TEST: softDeleteProduct_ShouldMarkProductAsDeleted <<<\n{}", TEST_SEPARATOR, TEST_SEPARATOR);
         testProduct.setDeleted(false);
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        doNothing().when(productRepository).softDeleteById(1L);
+        doNothing().when(productRepository).softDeleteById(eq(1L), any(Instant.class));
         productService.softDeleteProduct(1L);
-        verify(productRepository, times(1)).softDeleteById(1L);
+        verify(productRepository, times(1)).softDeleteById(eq(1L), any(Instant.class));
+        verify(eventPublisher, times(1)).publishEvent(ProductChangeEvent.deleted(testProduct));
     }
 
     @Test
@@ -200,4 +292,4 @@ class ProductServiceTest {
             .hasMessageContaining("Product not found with id: 1");
         verify(productRepository, times(1)).findById(1L);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package com.store.service;
+
+import com.store.TestProducts;
+import com.store.dto.CompactProduct;
+import com.store.repository.PriceRange;
+import com.store.repository.ProductSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSnapshotTest {
+
+    @Test
+    void get_ShouldFindEveryProductById() {
+        // Arrange
+        List<CompactProduct> products = LongStream.rangeClosed(1, 1000).mapToObj(id -> product(id, "P" + id, "1.00", 0)).toList();
+
+        // Act
+        ProductSnapshot snapshot = ProductSnapshot.of(products);
+
+        // Assert
+        assertThat(snapshot.size()).isEqualTo(1000);
+        LongStream.rangeClosed(1, 1000).forEach(id -> assertThat(snapshot.get(id).id()).isEqualTo(id));
+        assertThat(snapshot.get(0)).isNull();
+        assertThat(snapshot.get(1001)).isNull();
+    }
+
+    @Test
+    void page_ShouldFollowSortFieldThenId_InBothDirections() {
+        // Arrange
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of(
+            product(1, "b", "3.00", 0),
+            product(2, "a", "1.00", 0),
+            product(3, "b", "2.00", 0),
+            product(4, "c", "1.00", 0)));
+
+        // Act & Assert
+        assertThat(ids(snapshot.page(ProductSortField.NAME, Sort.Direction.ASC, 0, 10))).containsExactly(2L, 1L, 3L, 4L);
+        assertThat(ids(snapshot.page(ProductSortField.NAME, Sort.Direction.DESC, 0, 10))).containsExactly(4L, 3L, 1L, 2L);
+        assertThat(ids(snapshot.page(ProductSortField.PRICE, Sort.Direction.ASC, 1, 2))).containsExactly(4L, 3L);
+        assertThat(snapshot.page(ProductSortField.ID, Sort.Direction.ASC, 4, 10)).isEmpty();
+    }
+
+    @Test
+    void withChanges_ShouldApplyUpsertsAndRemovals_WithoutTouchingOriginal() {
+        // Arrange
+        ProductSnapshot original = ProductSnapshot.of(List.of(
+            product(1, "a", "1.00", 0),
+            product(2, "b", "2.00", 0),
+            product(3, "c", "3.00", 0)));
+        Map<Long, CompactProduct> changes = new HashMap<>();
+        changes.put(1L, product(1, "a", "9.00", 1));   // price change
+        changes.put(2L, null);                         // removal
+        changes.put(5L, product(5, "e", "0.50", 0));   // creation
+
+        // Act
+        ProductSnapshot updated = original.withChanges(changes);
+
+        // Assert
+        assertThat(ids(updated.page(ProductSortField.PRICE, Sort.Direction.ASC, 0, 10))).containsExactly(5L, 3L, 1L);
+        assertThat(ids(updated.page(ProductSortField.ID, Sort.Direction.ASC, 0, 10))).containsExactly(1L, 3L, 5L);
+        assertThat(updated.get(2)).isNull();
+        assertThat(updated.get(1).version()).isEqualTo(1);
+        assertThat(ids(original.page(ProductSortField.PRICE, Sort.Direction.ASC, 0, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void page_ShouldRestrictToPriceRange_InAnyOrder() {
+        // Arrange
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of(
+            product(1, "d", "5.00", 0),
+            product(2, "c", "19.99", 0),
+            product(3, "b", "20.00", 0),
+            product(4, "a", "20.01", 0),
+            product(5, "e", "20.00", 0)));
+        PriceRange upTo20 = new PriceRange(new BigDecimal("10"), new BigDecimal("20.00"));
+
+        // Act & Assert
+        assertThat(ids(snapshot.page(ProductSortField.PRICE, Sort.Direction.ASC, upTo20, 0, 10))).containsExactly(2L, 3L, 5L);
+        assertThat(ids(snapshot.page(ProductSortField.PRICE, Sort.Direction.DESC, upTo20, 1, 10))).containsExactly(3L, 2L);
+        assertThat(ids(snapshot.page(ProductSortField.NAME, Sort.Direction.ASC, upTo20, 0, 2))).containsExactly(3L, 2L);
+        assertThat(snapshot.count(upTo20)).isEqualTo(3);
+        // Bounds finer than a cent round inwards
+        assertThat(snapshot.count(new PriceRange(new BigDecimal("19.995"), new BigDecimal("20.009")))).isEqualTo(2);
+        assertThat(snapshot.count(new PriceRange(new BigDecimal("20.02"), null))).isZero();
+        assertThat(snapshot.count(PriceRange.ALL)).isEqualTo(5);
+    }
+
+    @Test
+    void withChanges_ShouldIgnoreOlderVersion() {
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of(product(1, "a", "5.00", 3)));
+
+        ProductSnapshot updated = snapshot.withChanges(Map.of(1L, product(1, "a", "1.00", 2)));
+
+        assertThat(updated).isSameAs(snapshot);
+        assertThat(updated.get(1).priceCents()).isEqualTo(500);
+    }
+
+    private static List<Long> ids(List<CompactProduct> products) {
+        return products.stream().map(CompactProduct::id).toList();
+    }
+
+    private static CompactProduct product(long id, String name, String price, int version) {
+        return CompactProduct.from(TestProducts.product(id, name, price, version, Instant.EPOCH.plusSeconds(id)));
+    }
+}
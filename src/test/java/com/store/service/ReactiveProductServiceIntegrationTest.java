@@ -0,0 +1,81 @@
+package com.store.service;
+
+import com.store.dto.CompactProduct;
+import com.store.exception.ProductNotFoundException;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import com.store.repository.ProductSortField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: offloaded reads run on other threads and only see committed rows
+@SpringBootTest
+class ReactiveProductServiceIntegrationTest {
+
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void findById_ShouldReadOffTheCallingThread_AndReportMissingProducts() {
+        // Given
+        Product created = productRepository.save(new Product("Reactive Product", new BigDecimal("4.20")));
+        createdIds.add(created.getId());
+        AtomicReference<String> readThread = new AtomicReference<>();
+
+        // When
+        CompactProduct found = reactiveProductService.findById(created.getId())
+            .doOnNext(product -> readThread.set(Thread.currentThread().getName()))
+            .block();
+
+        // Then
+        assertThat(found.name()).isEqualTo("Reactive Product");
+        assertThat(readThread.get()).startsWith("product-read");
+        assertThatThrownBy(() -> reactiveProductService.findById(Long.MAX_VALUE).block())
+            .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void streamAll_ShouldEmitEveryProductInOrder_AcrossBatches() {
+        // Given
+        List<Product> created = productService.addProducts(List.of(
+            new Product("Stream C", new BigDecimal("3.00")),
+            new Product("Stream A", new BigDecimal("1.00")),
+            new Product("Stream B", new BigDecimal("2.00"))));
+        created.forEach(product -> createdIds.add(product.getId()));
+        List<Long> expectedIds = productService.getProductsByCursor(ProductSortField.NAME, Sort.Direction.ASC, null, 1000)
+            .content().stream().map(Product::getId).toList();
+
+        // When
+        List<Long> streamedIds = reactiveProductService.streamAll(ProductSortField.NAME, Sort.Direction.ASC, 2)
+            .map(Product::getId)
+            .collectList()
+            .block();
+
+        // Then
+        assertThat(streamedIds).containsExactlyElementsOf(expectedIds);
+    }
+}
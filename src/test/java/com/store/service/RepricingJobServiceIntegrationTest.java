@@ -0,0 +1,114 @@
+package com.store.service;
+
+import com.store.dto.RepricingJobStatus;
+import com.store.exception.InvalidRequestException;
+import com.store.model.Product;
+import com.store.repository.ProductRepository;
+import com.store.repository.RepricingRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: jobs run on their own thread and commit chunk by chunk. Small chunks force several.
+@SpringBootTest(properties = "store.repricing.chunk-size=2")
+class RepricingJobServiceIntegrationTest {
+
+    @Autowired
+    private RepricingJobService repricingJobService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void job_ShouldRepriceMatchingProductsOnly_AndEvictTheCachedCopies() throws InterruptedException {
+        // Given
+        List<Product> products = productService.addProducts(List.of(
+            new Product("Repricing Gold 1", new BigDecimal("100.00")),
+            new Product("Other Product", new BigDecimal("100.00")),
+            new Product("repricing gold 2", new BigDecimal("10.00")),
+            new Product("Repricing Gold 3", new BigDecimal("500.00"))));
+        products.forEach(product -> createdIds.add(product.getId()));
+
+        // When: +3% on "Repricing Gold" products up to 100.00
+        RepricingJobStatus status = repricingJobService.submit(new RepricingRule(
+            "REPRICING GOLD", null, new BigDecimal("100.00"), RepricingRule.Operation.PERCENT, new BigDecimal("3")));
+        status = awaitFinished(status.id());
+
+        // Then
+        assertThat(status.state()).isEqualTo(RepricingJobStatus.State.COMPLETED);
+        assertThat(status.matchingProducts()).isEqualTo(2);
+        assertThat(status.updatedProducts()).isEqualTo(2);
+        assertThat(status.chunksCompleted()).isEqualTo(status.chunksTotal()).isGreaterThan(1);
+
+        Product first = productService.getProductById(products.get(0).getId());
+        assertThat(first.getPrice()).isEqualByComparingTo("103.00");
+        assertThat(first.getVersion()).isEqualTo(products.get(0).getVersion() + 1);
+        assertThat(productService.getProductById(products.get(2).getId()).getPrice()).isEqualByComparingTo("10.30");
+        assertThat(productService.getProductById(products.get(1).getId()).getVersion()).isEqualTo(products.get(1).getVersion());
+        assertThat(productService.getProductById(products.get(3).getId()).getPrice()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    void submit_ShouldRejectInvalidExpressions() {
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            null, null, null, RepricingRule.Operation.SET, new BigDecimal("-1"))))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            null, null, null, RepricingRule.Operation.ADD, new BigDecimal("0.001"))))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void submit_ShouldRejectRulesThatWouldOverflowThePriceColumn() {
+        // Given
+        Product expensive = productService.addProducts(List.of(
+            new Product("Repricing Overflow", new BigDecimal("60000000.00")))).get(0);
+        createdIds.add(expensive.getId());
+
+        // When / Then: 60,000,000 * 2 and 60,000,000 + 50,000,000 exceed 99,999,999.99
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            "Repricing Overflow", null, null, RepricingRule.Operation.PERCENT, new BigDecimal("100"))))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("above the maximum price");
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            "Repricing Overflow", null, null, RepricingRule.Operation.ADD, new BigDecimal("50000000"))))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            null, null, null, RepricingRule.Operation.SET, new BigDecimal("1E+30"))))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("digits before the decimal point");
+        assertThatThrownBy(() -> repricingJobService.submit(new RepricingRule(
+            null, null, new BigDecimal("1E+12"), RepricingRule.Operation.ADD, BigDecimal.ONE)))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThat(productService.getProductById(expensive.getId()).getPrice()).isEqualByComparingTo("60000000.00");
+    }
+
+    private RepricingJobStatus awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            RepricingJobStatus status = repricingJobService.getStatus(id).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Repricing job " + id + " did not finish");
+    }
+}